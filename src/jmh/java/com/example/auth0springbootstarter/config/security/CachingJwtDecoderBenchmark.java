@@ -0,0 +1,96 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por request de decodificar el mismo bearer token con y sin {@link CachingJwtDecoder}, y el agregado de
+ * medirlo con {@link TimedJwtDecoder} sobre un registro con histogramas habilitados, como en producción.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}. Usa claves RSA generadas localmente, no requiere red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CachingJwtDecoderBenchmark {
+
+    private static final String ISSUER = "https://bench.auth0.local/";
+    private static final String AUDIENCE = "https://api.bench.local";
+
+    private String token;
+    private JwtDecoder nimbusDecoder;
+    private JwtDecoder cachingDecoder;
+    private JwtDecoder timedCachingDecoder;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(AUDIENCE)
+                .subject("auth0|benchmark")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .build();
+        SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("bench").build(), claims);
+        signedJwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        token = signedJwt.serialize();
+
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER),
+                new AudienceValidator(AUDIENCE)));
+
+        nimbusDecoder = decoder;
+        cachingDecoder = new CachingJwtDecoder(decoder, 10_000, new SimpleMeterRegistry());
+
+        SimpleMeterRegistry histograms = new SimpleMeterRegistry();
+        histograms.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder().percentilesHistogram(true).build().merge(config);
+            }
+        });
+        timedCachingDecoder = new TimedJwtDecoder(new CachingJwtDecoder(decoder, 10_000, histograms),
+                "jwt.decode", "benchmark", histograms);
+    }
+
+    @Benchmark
+    public Jwt uncached() {
+        return nimbusDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt cachedAndTimed() {
+        return timedCachingDecoder.decode(token);
+    }
+}
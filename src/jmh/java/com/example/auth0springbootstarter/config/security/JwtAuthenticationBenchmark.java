@@ -0,0 +1,91 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de autenticación de cada request sin caché: verificación de firma y claims con {@link NimbusJwtDecoder}
+ * y la cadena de validadores de {@link SecurityConfig} (issuer, tiempos y {@link AudienceValidator}), y el
+ * mapeo de roles a authorities del {@link JwtAuthenticationConverter} configurado en {@link SecurityConfig}.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}. Usa claves RSA y tokens generados localmente, no requiere red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationBenchmark {
+
+    private static final String ISSUER = "https://bench.auth0.local/";
+    private static final String AUDIENCE = "https://api.bench.local";
+
+    private String token;
+    private NimbusJwtDecoder decoder;
+    private JwtAuthenticationConverter converter;
+    private Jwt jwt;
+
+    @Setup
+    public void setup() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .audience(List.of(AUDIENCE, ISSUER + "userinfo"))
+                .subject("auth0|benchmark")
+                .claim(AUDIENCE + "/roles", List.of("USER", "ADMIN"))
+                .claim("scope", "openid profile email")
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .build();
+        SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("bench").build(), claims);
+        signedJwt.sign(new RSASSASigner(keyPair.getPrivate()));
+        token = signedJwt.serialize();
+
+        decoder = NimbusJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build();
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                JwtValidators.createDefaultWithIssuer(ISSUER),
+                new AudienceValidator(AUDIENCE)));
+
+        SecurityConfig securityConfig = new SecurityConfig();
+        ReflectionTestUtils.setField(securityConfig, "audience", AUDIENCE);
+        converter = securityConfig.jwtAuthenticationConverter();
+
+        jwt = decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvert() {
+        return converter.convert(decoder.decode(token));
+    }
+}
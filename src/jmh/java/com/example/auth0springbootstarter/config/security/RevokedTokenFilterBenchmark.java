@@ -0,0 +1,91 @@
+package com.example.auth0springbootstarter.config.security;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link RevokedTokenFilter} por request, con 200.000 usuarios revocados.
+ * <p>
+ * {@code lookup*} mide solo la consulta a {@link UserRevocationList}; {@code filter} mide el paso completo por
+ * el filtro frente a {@code baseline}, que invoca la cadena directamente.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RevokedTokenFilterBenchmark {
+
+    private static final int REVOKED_USERS = 200_000;
+
+    private UserRevocationList revocationList;
+    private RevokedTokenFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+    private String allowedSubject;
+    private String revokedSubject;
+
+    @Setup
+    public void setup() {
+        List<String> revoked = new ArrayList<>(REVOKED_USERS);
+        for (int i = 0; i < REVOKED_USERS; i++) {
+            revoked.add("auth0|revoked-" + i);
+        }
+        revocationList = new UserRevocationList();
+        revocationList.replaceAll(revoked);
+        filter = new RevokedTokenFilter(revocationList);
+
+        // el mismo Jwt que devuelve CachingJwtDecoder en cada request, con su subject ya hasheado
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("auth0|active-user")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        allowedSubject = jwt.getSubject();
+        revokedSubject = revoked.get(REVOKED_USERS / 2);
+        revocationList.isRevoked(allowedSubject);
+
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+        request = new MockHttpServletRequest("GET", "/api/users/me");
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> {
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean lookupMiss() {
+        return revocationList.isRevoked(allowedSubject);
+    }
+
+    @Benchmark
+    public boolean lookupHit() {
+        return revocationList.isRevoked(revokedSubject);
+    }
+
+    @Benchmark
+    public void baseline() throws Exception {
+        chain.doFilter(request, response);
+    }
+
+    @Benchmark
+    public void filter() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+}
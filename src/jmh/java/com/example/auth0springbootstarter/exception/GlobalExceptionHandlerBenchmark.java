@@ -0,0 +1,55 @@
+package com.example.auth0springbootstarter.exception;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de armar las respuestas de error en {@link GlobalExceptionHandler}, incluido {@code buildErrorResponse}.
+ * Las excepciones se crean una sola vez: se mide el handler, no el stack trace.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ResourceNotFoundException notFound;
+    private RuntimeException unexpected;
+    private MethodArgumentNotValidException invalid;
+
+    @Setup
+    public void setup() throws Exception {
+        handler = new GlobalExceptionHandler();
+        notFound = new ResourceNotFoundException("Usuario con el id '42' no encontrado");
+        unexpected = new IllegalStateException("Error inesperado");
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "signupRequest");
+        bindingResult.addError(new FieldError("signupRequest", "email", "El email no es válido"));
+        bindingResult.addError(new FieldError("signupRequest", "password", "La contraseña es obligatoria"));
+        invalid = new MethodArgumentNotValidException(
+                new MethodParameter(GlobalExceptionHandlerBenchmark.class.getMethod("setup"), -1), bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleResourceNotFoundException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpected() {
+        return handler.handleException(unexpected);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validation() {
+        return handler.handleValidationException(invalid);
+    }
+}
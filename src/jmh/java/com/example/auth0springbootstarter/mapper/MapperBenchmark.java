@@ -0,0 +1,64 @@
+package com.example.auth0springbootstarter.mapper;
+
+import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo y asignaciones de los mappers de MapStruct que arman las respuestas de usuario y rol.
+ * <p>
+ * Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private UserMapper userMapper;
+    private RoleMapper roleMapper;
+    private User user;
+    private Role role;
+
+    @Setup
+    public void setup() {
+        roleMapper = new RoleMapperImpl();
+        userMapper = new UserMapperImpl();
+        // con componentModel = "spring" MapStruct inyecta los mappers usados por campo
+        ReflectionTestUtils.setField(userMapper, "roleMapper", roleMapper);
+
+        role = Role.builder()
+                .id(2L)
+                .auth0Id("rol_benchmark")
+                .name("USER")
+                .description("Usuario de la aplicación")
+                .active(true)
+                .build();
+        user = User.builder()
+                .id(42L)
+                .name("Usuario Benchmark")
+                .email("benchmark@example.com")
+                .auth0Id("auth0|benchmark")
+                .active(true)
+                .role(role)
+                .version(3L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse userToResponse() {
+        return userMapper.toResponse(user);
+    }
+
+    @Benchmark
+    public RoleResponse roleToResponse() {
+        return roleMapper.toResponse(role);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de la resolución de {@code /users/me} con y sin {@link CurrentUserCache}.
+ * <p>
+ * El camino sin caché ejecuta contra H2 en memoria la misma consulta (usuario + rol por auth0_id) que hace
+ * {@code UserService.getCurrent}, por lo que es un piso optimista: en producción se suman el round trip a MySQL,
+ * la transacción y la hidratación de Hibernate. Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CurrentUserBenchmark {
+
+    private static final int USERS = 100_000;
+
+    private Connection connection;
+    private CurrentUserCache cache;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:current-user;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table role (id bigint primary key, name varchar(50), description varchar(500), active boolean)");
+            statement.execute("create table \"user\" (id bigint primary key, name varchar(255), email varchar(255), "
+                    + "auth0_id varchar(255) unique, active boolean, role_id bigint, version bigint)");
+            statement.execute("insert into role values (1, 'USER', 'Rol con permisos limitados para usuarios.', true)");
+            statement.execute("insert into \"user\" select x, 'Usuario ' || x, 'user' || x || '@example.com', "
+                    + "'auth0|' || x, true, 1, 0 from system_range(1, " + USERS + ")");
+        }
+
+        cache = new CurrentUserCache(USERS, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        for (long id = 1; id <= USERS; id++) {
+            String auth0Id = "auth0|" + id;
+            cache.put(auth0Id, load(auth0Id), 0L, cache.generation());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public UserResponse withoutCache() throws SQLException {
+        return load(randomAuth0Id());
+    }
+
+    @Benchmark
+    public UserResponse withCache() {
+        return cache.get(randomAuth0Id());
+    }
+
+    private static String randomAuth0Id() {
+        return "auth0|" + ThreadLocalRandom.current().nextInt(1, USERS + 1);
+    }
+
+    private UserResponse load(String auth0Id) throws SQLException {
+        String sql = "select u.id, u.name, u.email, u.active, r.id, r.name, r.description, r.active "
+                + "from \"user\" u left join role r on r.id = u.role_id where u.auth0_id = ?";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, auth0Id);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return UserResponse.builder()
+                        .id(rs.getLong(1))
+                        .name(rs.getString(2))
+                        .email(rs.getString(3))
+                        .active(rs.getBoolean(4))
+                        .role(RoleResponse.builder()
+                                .id(rs.getLong(5))
+                                .name(rs.getString(6))
+                                .description(rs.getString(7))
+                                .active(rs.getBoolean(8))
+                                .build())
+                        .build();
+            }
+        }
+    }
+}
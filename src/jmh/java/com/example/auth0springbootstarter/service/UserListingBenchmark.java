@@ -0,0 +1,138 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserSummary;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia y memoria de una página grande del listado de usuarios: entidades gestionadas (con su rol EAGER y el
+ * snapshot para dirty checking) mapeadas a {@link UserResponse}, frente a la proyección {@link UserSummary}
+ * que usan ahora {@code UserService.findAll} y {@code findAllByRole}.
+ * <p>
+ * Levanta Hibernate sobre H2 en memoria con las entidades reales. El mapeo de entidades se hace a mano porque
+ * el {@code UserMapper} generado requiere el contexto de Spring; el costo es equivalente. Ejecutar con
+ * {@code ./gradlew jmh}: el profiler {@code gc} informa la memoria asignada por página en
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserListingBenchmark {
+
+    private static final int USERS = 20_000;
+
+    @Param({"20", "500"})
+    public int size;
+
+    private SessionFactory sessionFactory;
+    private Long roleId;
+
+    @Setup
+    public void setup() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:user-listing;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.auto_quote_keyword", "true")
+                .buildSessionFactory();
+
+        LocalDateTime now = LocalDateTime.now();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+
+            Role role = Role.builder()
+                    .auth0Id("rol_user")
+                    .name("USER")
+                    .description("Rol con permisos limitados para usuarios.")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            session.insert(role);
+            roleId = role.getId();
+
+            for (int i = 1; i <= USERS; i++) {
+                session.insert(User.builder()
+                        .name("Usuario " + i)
+                        .email("user" + i + "@example.com")
+                        .auth0Id("auth0|" + i)
+                        .role(role)
+                        .version(0L)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+            transaction.commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<UserResponse> entities() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<UserResponse> page = session.createSelectionQuery(
+                            "from User u where u.role.id = :roleId order by u.id", User.class)
+                    .setParameter("roleId", roleId)
+                    .setMaxResults(size)
+                    .getResultList()
+                    .stream()
+                    .map(UserListingBenchmark::toResponse)
+                    .toList();
+            transaction.commit();
+            return page;
+        }
+    }
+
+    @Benchmark
+    public List<UserResponse> projection() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<UserResponse> page = session.createSelectionQuery(
+                            "select new " + UserRepository.SUMMARY
+                                    + " from User u join u.role r where r.id = :roleId order by u.id", UserSummary.class)
+                    .setParameter("roleId", roleId)
+                    .setMaxResults(size)
+                    .getResultList()
+                    .stream()
+                    .map(UserSummary::toResponse)
+                    .toList();
+            transaction.commit();
+            return page;
+        }
+    }
+
+    private static UserResponse toResponse(User user) {
+        Role role = user.getRole();
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .active(user.getActive())
+                .role(RoleResponse.builder()
+                        .id(role.getId())
+                        .name(role.getName())
+                        .description(role.getDescription())
+                        .active(role.getActive())
+                        .build())
+                .deletionScheduledAt(user.getDeletionScheduledAt())
+                .build();
+    }
+}
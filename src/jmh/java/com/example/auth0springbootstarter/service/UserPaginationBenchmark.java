@@ -0,0 +1,107 @@
+package com.example.auth0springbootstarter.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de una página de {@code /users/admin/users} paginando por OFFSET (más el {@code COUNT(*)} de
+ * {@code Page}) y por cursor sobre {@code (role_id, id)}, al principio y al fondo del listado.
+ * <p>
+ * Siembra 1M de usuarios en H2 en memoria (9 de cada 10 con el rol USER) con el mismo índice que declara
+ * {@code User}. Ejecutar con {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserPaginationBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int PAGE_SIZE = 20;
+    private static final long USER_ROLE_ID = 1;
+
+    /** Posición de la página dentro del listado de usuarios con rol USER. */
+    @Param({"0", "100000", "850000"})
+    public int position;
+
+    private Connection connection;
+    private long afterId;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:user-pagination;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop all objects");
+            statement.execute("create table role (id bigint primary key, name varchar(50), description varchar(500), active boolean)");
+            statement.execute("create table \"user\" (id bigint primary key, name varchar(255), email varchar(255), "
+                    + "auth0_id varchar(255) unique, active boolean, role_id bigint, version bigint)");
+            statement.execute("create index idx_user_role_id_id on \"user\" (role_id, id)");
+            statement.execute("insert into role values (1, 'USER', 'Rol con permisos limitados para usuarios.', true), "
+                    + "(2, 'ADMIN', 'Rol con permisos extendidos para administradores.', true)");
+            statement.execute("insert into \"user\" select x, 'Usuario ' || x, 'user' || x || '@example.com', "
+                    + "'auth0|' || x, true, case when mod(x, 10) = 0 then 2 else 1 end, 0 "
+                    + "from system_range(1, " + USERS + ")");
+        }
+
+        // el cursor equivalente a la posición: el id del último usuario de la página anterior
+        afterId = 0;
+        if (position > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "select id from \"user\" where role_id = ? order by id limit 1 offset ?")) {
+                statement.setLong(1, USER_ROLE_ID);
+                statement.setInt(2, position - 1);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    afterId = rs.getLong(1);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void offset(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, name, email, active from \"user\" where role_id = ? order by id limit ? offset ?")) {
+            statement.setLong(1, USER_ROLE_ID);
+            statement.setInt(2, PAGE_SIZE);
+            statement.setInt(3, position);
+            consume(statement, blackhole);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select count(*) from \"user\" where role_id = ?")) {
+            statement.setLong(1, USER_ROLE_ID);
+            consume(statement, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void keyset(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select id, name, email, active from \"user\" where role_id = ? and id > ? order by id limit ?")) {
+            statement.setLong(1, USER_ROLE_ID);
+            statement.setLong(2, afterId);
+            statement.setInt(3, PAGE_SIZE + 1);
+            consume(statement, blackhole);
+        }
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+            }
+        }
+    }
+}
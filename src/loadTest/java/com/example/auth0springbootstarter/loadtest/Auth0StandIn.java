@@ -0,0 +1,356 @@
+package com.example.auth0springbootstarter.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reemplazo local de Auth0 para las pruebas de carga: documento de discovery OIDC, JWKS, {@code /oauth/token} y
+ * los endpoints de la Management API que usa la aplicación (usuarios, roles de usuario y roles), con estado en
+ * memoria.
+ * <p>
+ * Cada respuesta se demora {@code latency} más un jitter aleatorio de hasta {@code jitter}. Los 429 salen de un
+ * límite por segundo (como el de un tenant real, informado en los headers {@code X-RateLimit-*}) y,
+ * opcionalmente, de una fracción de requests elegidos al azar.
+ */
+public class Auth0StandIn implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Auth0StandIn.class);
+
+    private static final String KEY_ID = "loadtest";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final KeyPair keyPair;
+    private final String jwks;
+
+    private final Duration latency;
+    private final Duration jitter;
+    private final int rateLimitPerSecond;
+    private final double rateLimitRatio;
+
+    private final Map<String, Map<String, Object>> users = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> userRoles = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Object>> roles = new ConcurrentHashMap<>();
+
+    private final AtomicLong windowSecond = new AtomicLong();
+    private final AtomicLong windowCount = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    public Auth0StandIn(Duration latency, Duration jitter, int rateLimitPerSecond, double rateLimitRatio) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.rateLimitRatio = rateLimitRatio;
+
+        this.keyPair = generateKeyPair();
+        this.jwks = new JWKSet(new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .keyID(KEY_ID)
+                .algorithm(JWSAlgorithm.RS256)
+                .keyUse(KeyUse.SIGNATURE)
+                .build()).toString();
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // las demoras simuladas no ocupan hilos de plataforma
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Stand-in de Auth0 escuchando en {}", baseUrl());
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public String issuer() {
+        return baseUrl() + "/";
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    public long rateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Emite un access token firmado con la clave publicada en el JWKS.
+     */
+    public String mintToken(String audience, String subject, String email, String name, List<String> roleNames) {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer())
+                .audience(audience)
+                .subject(subject)
+                .claim(audience + "/email", email)
+                .claim(audience + "/name", name)
+                .claim(audience + "/roles", roleNames)
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(2))))
+                .build();
+        try {
+            SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(KEY_ID).build(), claims);
+            jwt.sign(new RSASSASigner(keyPair.getPrivate()));
+            return jwt.serialize();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("No se pudo firmar el token de prueba", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            simulateLatency();
+
+            String path = exchange.getRequestURI().getRawPath();
+            if (path.startsWith("/api/v2/") && isRateLimited()) {
+                rateLimited.incrementAndGet();
+                send(exchange, 429, Map.of("statusCode", 429, "error", "Too Many Requests", "message", "Global limit has been reached"));
+                return;
+            }
+
+            route(exchange, exchange.getRequestMethod(), path.split("/"));
+        } catch (Exception e) {
+            log.error("Error en el stand-in de Auth0", e);
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String[] path) throws IOException {
+        // path[0] es vacío: "/api/v2/users/{id}/roles" -> ["", "api", "v2", "users", "{id}", "roles"]
+        String route = method + " " + String.join("/", mask(path));
+        switch (route) {
+            case "GET /.well-known/openid-configuration" -> send(exchange, 200, Map.of(
+                    "issuer", issuer(),
+                    "jwks_uri", baseUrl() + "/.well-known/jwks.json",
+                    "token_endpoint", baseUrl() + "/oauth/token",
+                    "id_token_signing_alg_values_supported", List.of("RS256")));
+            case "GET /.well-known/jwks.json" -> sendRaw(exchange, 200, jwks);
+            case "POST /oauth/token" -> send(exchange, 200, Map.of(
+                    "access_token", "management-token", "token_type", "Bearer", "expires_in", 86400));
+
+            case "POST /api/v2/users" -> createUser(exchange);
+            case "GET /api/v2/users/*" -> sendOrNotFound(exchange, users.get(decode(path[4])));
+            case "PATCH /api/v2/users/*" -> updateUser(exchange, decode(path[4]));
+            case "DELETE /api/v2/users/*" -> {
+                users.remove(decode(path[4]));
+                userRoles.remove(decode(path[4]));
+                sendRaw(exchange, 204, null);
+            }
+            case "GET /api/v2/users/*/roles" -> send(exchange, 200, userRoles.getOrDefault(decode(path[4]), List.of()).stream()
+                    .map(roles::get)
+                    .filter(role -> role != null)
+                    .toList());
+            case "POST /api/v2/users/*/roles" -> {
+                Map<?, ?> body = read(exchange);
+                userRoles.put(decode(path[4]), new ArrayList<>(((List<?>) body.get("roles")).stream().map(String::valueOf).toList()));
+                sendRaw(exchange, 204, null);
+            }
+
+            case "GET /api/v2/roles" -> listRoles(exchange);
+            case "POST /api/v2/roles" -> createRole(exchange);
+            case "GET /api/v2/roles/*" -> sendOrNotFound(exchange, roles.get(decode(path[4])));
+            case "PATCH /api/v2/roles/*" -> updateRole(exchange, decode(path[4]));
+            case "POST /api/v2/roles/*/users" -> sendRaw(exchange, 200, null);
+
+            default -> send(exchange, 404, Map.of("statusCode", 404, "error", "Not Found", "message", "Ruta no simulada: " + route));
+        }
+    }
+
+    private void createUser(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = read(exchange);
+        String email = String.valueOf(body.get("email"));
+        boolean exists = users.values().stream().anyMatch(user -> email.equals(user.get("email")));
+        if (exists) {
+            send(exchange, 409, Map.of("statusCode", 409, "error", "Conflict", "message", "The user already exists."));
+            return;
+        }
+
+        String id = "auth0|" + UUID.randomUUID();
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("user_id", id);
+        user.put("email", email);
+        user.put("name", body.get("name"));
+        user.put("blocked", false);
+        users.put(id, user);
+        send(exchange, 201, user);
+    }
+
+    private void updateUser(HttpExchange exchange, String id) throws IOException {
+        Map<?, ?> body = read(exchange);
+        Map<String, Object> user = users.computeIfAbsent(id, key -> {
+            Map<String, Object> created = new LinkedHashMap<>();
+            created.put("user_id", key);
+            return created;
+        });
+        body.forEach((key, value) -> {
+            if (!"password".equals(key)) {
+                user.put(String.valueOf(key), value);
+            }
+        });
+        send(exchange, 200, user);
+    }
+
+    private void listRoles(HttpExchange exchange) throws IOException {
+        List<Map<String, Object>> all = List.copyOf(roles.values());
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null && query.contains("include_totals=true")) {
+            send(exchange, 200, Map.of("roles", all, "start", 0, "limit", Math.max(all.size(), 1), "total", all.size()));
+        } else {
+            send(exchange, 200, all);
+        }
+    }
+
+    private void createRole(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = read(exchange);
+        String id = "rol_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        Map<String, Object> role = new LinkedHashMap<>();
+        role.put("id", id);
+        role.put("name", body.get("name"));
+        role.put("description", body.get("description"));
+        roles.put(id, role);
+        send(exchange, 200, role);
+    }
+
+    private void updateRole(HttpExchange exchange, String id) throws IOException {
+        Map<String, Object> role = roles.get(id);
+        if (role == null) {
+            sendOrNotFound(exchange, null);
+            return;
+        }
+        read(exchange).forEach((key, value) -> role.put(String.valueOf(key), value));
+        send(exchange, 200, role);
+    }
+
+    private boolean isRateLimited() {
+        if (rateLimitRatio > 0 && ThreadLocalRandom.current().nextDouble() < rateLimitRatio) {
+            return true;
+        }
+        if (rateLimitPerSecond <= 0) {
+            return false;
+        }
+
+        long second = Instant.now().getEpochSecond();
+        long current = windowSecond.get();
+        if (current != second && windowSecond.compareAndSet(current, second)) {
+            windowCount.set(0);
+        }
+        return windowCount.incrementAndGet() > rateLimitPerSecond;
+    }
+
+    private void simulateLatency() {
+        long millis = latency.toMillis();
+        if (!jitter.isZero()) {
+            millis += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Map<?, ?> read(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? Map.of() : objectMapper.readValue(body, Map.class);
+    }
+
+    private void sendOrNotFound(HttpExchange exchange, Object body) throws IOException {
+        if (body == null) {
+            send(exchange, 404, Map.of("statusCode", 404, "error", "Not Found", "message", "The resource does not exist."));
+        } else {
+            send(exchange, 200, body);
+        }
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        sendRaw(exchange, status, objectMapper.writeValueAsString(body));
+    }
+
+    private void sendRaw(HttpExchange exchange, int status, String body) throws IOException {
+        if (rateLimitPerSecond > 0) {
+            long reset = Instant.now().getEpochSecond() + 1;
+            exchange.getResponseHeaders().add("X-RateLimit-Limit", Integer.toString(rateLimitPerSecond));
+            exchange.getResponseHeaders().add("X-RateLimit-Remaining", Long.toString(Math.max(0, rateLimitPerSecond - windowCount.get())));
+            exchange.getResponseHeaders().add("X-RateLimit-Reset", Long.toString(reset));
+        }
+
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String[] mask(String[] path) {
+        String[] masked = path.clone();
+        // los ids de usuarios y roles van en la quinta posición
+        if (masked.length > 4 && "api".equals(masked[1]) && "v2".equals(masked[2])) {
+            masked[4] = "*";
+        }
+        return masked;
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("RSA no disponible en la JVM", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.auth0springbootstarter.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y resultados por endpoint. Cada endpoint tiene su propio histograma HDR, así los percentiles altos
+ * (p99, p999) son exactos a 3 dígitos significativos y registrar una muestra no asigna memoria.
+ */
+public class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long latencyNanos, int status) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status >= 200 && status < 300) {
+            stats.ok.increment();
+        } else {
+            stats.failed.increment();
+        }
+    }
+
+    public void recordError(String endpoint) {
+        endpoints.computeIfAbsent(endpoint, name -> new Endpoint()).failed.increment();
+    }
+
+    /**
+     * Imprime la tabla por endpoint y reinicia los histogramas.
+     *
+     * @return Throughput total en requests por segundo.
+     */
+    public double print(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n%-14s %9s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        long totalOk = 0;
+        long totalFailed = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint stats = entry.getValue();
+            Histogram histogram = stats.latency.getIntervalHistogram();
+            long ok = stats.ok.sum();
+            long failed = stats.failed.sum();
+            totalOk += ok;
+            totalFailed += failed;
+
+            out.printf("%-14s %9d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                    entry.getKey(), ok + failed, failed, (ok + failed) / seconds,
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        double throughput = (totalOk + totalFailed) / seconds;
+        out.printf("%-14s %9d %8d %10.1f%n", "total", totalOk + totalFailed, totalFailed, throughput);
+        return throughput;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final Recorder latency = new Recorder(3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.auth0springbootstarter.loadtest;
+
+import com.example.auth0springbootstarter.Auth0SpringBootStarterApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.example.auth0springbootstarter.utils.Constants.ADMIN_ROLE_NAME;
+import static com.example.auth0springbootstarter.utils.Constants.OWNER_ROLE_NAME;
+import static com.example.auth0springbootstarter.utils.Constants.ROLES;
+
+/**
+ * Prueba de carga de punta a punta sin red: levanta {@link Auth0StandIn}, arranca la aplicación contra él y
+ * contra una base H2 en memoria, siembra roles y usuarios y genera tráfico según {@link TrafficMix} con
+ * {@code loadtest.concurrency} clientes en lazo cerrado. Al final imprime throughput y p50/p99/p999 por
+ * endpoint.
+ * <p>
+ * Ejecutar con {@code ./gradlew loadTest}; los parámetros se pasan como propiedades del proyecto, por ejemplo
+ * {@code ./gradlew loadTest -Ploadtest.concurrency=128 -Pauth0.latency=PT0.2S -Pauth0.rate-limit-ratio=0.05}.
+ * <p>
+ * {@code loadtest.concurrency} acepta una lista de etapas ({@code 50,200,800}): cada una se mide por separado y
+ * al final se resume cómo escala el throughput. Con {@code loadtest.virtual-threads=true} la aplicación atiende
+ * con hilos virtuales; comparar ambos modos contra un Auth0 lento muestra el techo de los pools de plataforma:
+ * <pre>
+ * ./gradlew loadTest -Ploadtest.concurrency=50,200,800 -Pauth0.latency=PT2S -Pauth0.rate-limit=100000 -Ploadtest.users=100 -Ploadtest.mix=signup=1
+ * ./gradlew loadTest -Ploadtest.concurrency=50,200,800 -Pauth0.latency=PT2S -Pauth0.rate-limit=100000 -Ploadtest.users=100 -Ploadtest.mix=signup=1 -Ploadtest.virtual-threads=true
+ * </pre>
+ * La JVM corre con {@code -Djdk.tracePinnedThreads=short}: si un hilo virtual queda fijado a su carrier durante
+ * una espera, el stack se imprime en la salida.
+ */
+public final class LoadTestHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestHarness.class);
+
+    private static final String AUDIENCE = "https://api.loadtest.local";
+    private static final String DEFAULT_MIX = "me=70,first-login=5,signup=5,owner-signup=5,list-users=10,roles=4,role-update=1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong sequence = new AtomicLong();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final Auth0StandIn standIn;
+    private final String baseUrl;
+    private final String adminToken;
+    private final String ownerToken;
+    private final List<String> userTokens = new ArrayList<>();
+    private String ownerRoleId;
+
+    private LoadTestHarness(Auth0StandIn standIn, int port) {
+        this.standIn = standIn;
+        this.baseUrl = "http://127.0.0.1:" + port + "/api";
+        this.adminToken = standIn.mintToken(AUDIENCE, "auth0|loadtest-admin", "admin@loadtest.local", "Admin", List.of(ADMIN_ROLE_NAME));
+        this.ownerToken = standIn.mintToken(AUDIENCE, "auth0|loadtest-owner", "owner@loadtest.local", "Owner", List.of(OWNER_ROLE_NAME, ADMIN_ROLE_NAME));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+        Duration warmup = Duration.parse(System.getProperty("loadtest.warmup", "PT10S"));
+        List<Integer> stages = Arrays.stream(System.getProperty("loadtest.concurrency", "64").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        boolean virtualThreads = Boolean.getBoolean("loadtest.virtual-threads");
+        int users = Integer.getInteger("loadtest.users", 1000);
+        TrafficMix mix = new TrafficMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+        Auth0StandIn standIn = new Auth0StandIn(
+                Duration.parse(System.getProperty("auth0.latency", "PT0.05S")),
+                Duration.parse(System.getProperty("auth0.jitter", "PT0.05S")),
+                Integer.getInteger("auth0.rate-limit", 100),
+                Double.parseDouble(System.getProperty("auth0.rate-limit-ratio", "0")));
+        standIn.start();
+
+        Path workDir = Files.createTempDirectory("auth0-loadtest");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Auth0SpringBootStarterApplication.class)
+                .properties(applicationProperties(standIn, workDir, virtualThreads))
+                .run();
+
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestHarness harness = new LoadTestHarness(standIn, port);
+
+            harness.seedRoles();
+            harness.provisionUsers(users, stages.getFirst());
+
+            Map<Integer, Double> throughput = new LinkedHashMap<>();
+            for (int concurrency : stages) {
+                LatencyReport report = harness.run(mix, concurrency, warmup, duration);
+                System.out.printf("%nPrueba de carga: %d clientes, %s de medición tras %s de calentamiento, mezcla %s, hilos %s%n",
+                        concurrency, duration, warmup, mix.scenarios().stream().map(Scenario::key).toList(),
+                        virtualThreads ? "virtuales" : "de plataforma");
+                throughput.put(concurrency, report.print(System.out, duration));
+            }
+
+            if (stages.size() > 1) {
+                double base = throughput.get(stages.getFirst()) / stages.getFirst();
+                System.out.printf("%n%-10s %10s %12s%n", "clientes", "req/s", "escalado");
+                // escalado 1.00 = el throughput crece en proporción a los clientes
+                throughput.forEach((concurrency, rate) ->
+                        System.out.printf("%-10d %10.1f %12.2f%n", concurrency, rate, rate / (base * concurrency)));
+            }
+            System.out.printf("%nStand-in de Auth0: %d requests, %d respondidos con 429%n", standIn.requests(), standIn.rateLimited());
+        } finally {
+            context.close();
+            standIn.close();
+        }
+    }
+
+    private static Map<String, Object> applicationProperties(Auth0StandIn standIn, Path workDir, boolean virtualThreads) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        properties.put("users.export.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+
+        properties.put("auth0.domain", standIn.baseUrl());
+        properties.put("auth0.client.id", "loadtest");
+        properties.put("auth0.client.secret", "loadtest");
+        properties.put("auth0.audience", AUDIENCE);
+        properties.put("auth0.issuer.uri", standIn.issuer());
+        properties.put("auth0.jwks.snapshot-path", workDir.resolve("jwks-snapshot.json").toString());
+        properties.put("auth0.import.connection-id", "con_loadtest");
+        properties.put("web.cors.allowed-origins", "http://localhost");
+        properties.put("spring.mail.username", "loadtest");
+        properties.put("spring.mail.password", "loadtest");
+        return properties;
+    }
+
+    private void seedRoles() throws IOException, InterruptedException {
+        for (Map.Entry<String, String> role : ROLES.entrySet()) {
+            HttpResponse<String> response = send(post("/roles/admin", adminToken,
+                    Map.of("name", role.getKey(), "description", role.getValue())));
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("No se pudo crear el rol " + role.getKey() + ": " + response.body());
+            }
+            JsonNode body = objectMapper.readTree(response.body());
+            if (OWNER_ROLE_NAME.equals(role.getKey())) {
+                ownerRoleId = body.get("id").asText();
+            }
+        }
+        log.info("Roles sembrados: {}", ROLES.keySet());
+    }
+
+    /**
+     * Provisiona los usuarios que usa el escenario {@code me} con su primer login.
+     */
+    private void provisionUsers(int users, int concurrency) throws Exception {
+        for (int i = 0; i < users; i++) {
+            userTokens.add(standIn.mintToken(AUDIENCE, "auth0|loadtest-user-" + i, "user-" + i + "@loadtest.local",
+                    "Usuario " + i, List.of()));
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(concurrency, Thread.ofVirtual().factory())) {
+            List<Future<HttpResponse<String>>> responses = new ArrayList<>();
+            for (String token : userTokens) {
+                responses.add(executor.submit(() -> send(get("/users/me", token))));
+            }
+            long failed = 0;
+            for (Future<HttpResponse<String>> response : responses) {
+                if (response.get().statusCode() / 100 != 2) {
+                    failed++;
+                }
+            }
+            log.info("Usuarios provisionados: {} ({} con error)", users - failed, failed);
+        }
+    }
+
+    private LatencyReport run(TrafficMix mix, int concurrency, Duration warmup, Duration duration) throws InterruptedException {
+        LatencyReport report = new LatencyReport();
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().name("loadtest-", i).start(() -> {
+                while (System.nanoTime() < end) {
+                    Scenario scenario = mix.next();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = send(request(scenario));
+                        if (start >= measureFrom) {
+                            report.record(scenario.key(), System.nanoTime() - start, response.statusCode());
+                        }
+                    } catch (IOException e) {
+                        if (start >= measureFrom) {
+                            report.recordError(scenario.key());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return report;
+    }
+
+    private HttpRequest request(Scenario scenario) throws IOException {
+        long n = sequence.incrementAndGet();
+        return switch (scenario) {
+            case ME -> get("/users/me", userTokens.get(ThreadLocalRandom.current().nextInt(userTokens.size())));
+            case FIRST_LOGIN -> get("/users/me", standIn.mintToken(AUDIENCE, "auth0|loadtest-new-" + n,
+                    "new-" + n + "@loadtest.local", "Nuevo " + n, List.of()));
+            case SIGNUP -> post("/users/signup", standIn.mintToken(AUDIENCE, "auth0|loadtest-signup-" + n,
+                    "signup-" + n + "@loadtest.local", "Registro " + n, List.of()), null);
+            case OWNER_SIGNUP -> post("/users/owner/signup", ownerToken, Map.of(
+                    "email", "owner-signup-" + n + "@loadtest.local",
+                    "password", "Loadtest-" + n + "!",
+                    "name", "Alta " + n,
+                    "roleName", "USER"));
+            case OWNER_SIGNUP_ASYNC -> post("/users/owner/signup/async", ownerToken, Map.of(
+                    "email", "owner-signup-async-" + n + "@loadtest.local",
+                    "password", "Loadtest-" + n + "!",
+                    "name", "Alta asíncrona " + n,
+                    "roleName", "USER"));
+            case LIST_USERS -> get("/users/admin/users?size=20&page=" + ThreadLocalRandom.current().nextInt(10), adminToken);
+            case LIST_ROLES -> get("/roles/admin", adminToken);
+            case UPDATE_ROLE -> HttpRequest.newBuilder(URI.create(baseUrl + "/roles/admin/" + ownerRoleId))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of(
+                            "name", OWNER_ROLE_NAME,
+                            "description", ROLES.get(OWNER_ROLE_NAME) + " (" + n + ")"))))
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.auth0springbootstarter.loadtest;
+
+/**
+ * Tipos de request que genera la prueba de carga. El nombre se usa en {@code loadtest.mix} y en el reporte.
+ */
+public enum Scenario {
+
+    /** {@code GET /users/me} de un usuario ya provisionado: el camino más frecuente. */
+    ME("me"),
+    /** {@code GET /users/me} de un usuario nuevo: provisiona el usuario local en el primer login. */
+    FIRST_LOGIN("first-login"),
+    /** {@code POST /users/signup} con un token de un usuario nuevo. */
+    SIGNUP("signup"),
+    /** {@code POST /users/owner/signup}: crea el usuario en Auth0 y le asigna el rol. */
+    OWNER_SIGNUP("owner-signup"),
+    /** {@code POST /users/owner/signup/async}: responde 202 sin esperar a Auth0. */
+    OWNER_SIGNUP_ASYNC("owner-signup-async"),
+    /** {@code GET /users/admin/users} paginado por offset. */
+    LIST_USERS("list-users"),
+    /** {@code GET /roles/admin}. */
+    LIST_ROLES("roles"),
+    /** {@code PATCH /roles/admin/{id}} sobre el rol OWNER. */
+    UPDATE_ROLE("role-update");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido: '" + key + "'");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.auth0springbootstarter.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mezcla de tráfico ponderada, por ejemplo {@code me=70,signup=10,list-users=20}. Los pesos son relativos.
+ */
+public class TrafficMix {
+
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private final int totalWeight;
+
+    public TrafficMix(String spec) {
+        int total = 0;
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida en la mezcla de tráfico: '" + part + "'");
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight <= 0) {
+                continue;
+            }
+            total += weight;
+            scenarios.add(Scenario.fromKey(pair[0].trim()));
+            cumulativeWeights.add(total);
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("La mezcla de tráfico no tiene escenarios con peso positivo");
+        }
+        this.totalWeight = total;
+    }
+
+    public Scenario next() {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (value < cumulativeWeights.get(i)) {
+                return scenarios.get(i);
+            }
+        }
+        return scenarios.getLast();
+    }
+
+    public List<Scenario> scenarios() {
+        return List.copyOf(scenarios);
+    }
+}
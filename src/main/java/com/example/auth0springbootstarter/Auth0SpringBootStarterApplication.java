@@ -2,9 +2,13 @@ package com.example.auth0springbootstarter;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableRetry
+@EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class Auth0SpringBootStarterApplication {
 
@@ -0,0 +1,60 @@
+package com.example.auth0springbootstarter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${auth0.executor.pool-size:16}")
+    private int poolSize;
+
+    @Value("${auth0.executor.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${users.signup.async.concurrency:8}")
+    private int signupConcurrency;
+
+    @Value("${users.signup.async.queue-capacity:1000}")
+    private int signupQueueCapacity;
+
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor auth0Executor() {
+        // pool acotado donde continúan las llamadas asíncronas a Auth0, fuera de los hilos de Tomcat
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth0-");
+        return executor;
+    }
+
+    @Bean(name = "auth0Executor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualAuth0Executor() {
+        // con spring.threads.virtual.enabled cada continuación corre en su propio hilo virtual: las etapas que
+        // bloquean (JDBC, compensaciones en Auth0) no agotan un pool fijo
+        return new VirtualThreadTaskExecutor("auth0-");
+    }
+
+    @Bean
+    public AsyncTaskExecutor signupExecutor() {
+        // workers de las altas asíncronas: acotan cuántas altas se procesan contra Auth0 a la vez, incluso con
+        // hilos virtuales; con la cola llena las nuevas solicitudes se rechazan
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(signupConcurrency);
+        executor.setMaxPoolSize(signupConcurrency);
+        executor.setQueueCapacity(signupQueueCapacity);
+        executor.setThreadNamePrefix("signup-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.auth0springbootstarter.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Pool propio para la exportación de usuarios. En MySQL el cursor del lado del servidor que necesita el export
+ * se habilita con {@code useCursorFetch=true}, que es una propiedad de la conexión: se aplica solo en este pool
+ * para que el resto de las consultas siga trayendo sus resultados de una vez.
+ * <p>
+ * Los beans no son candidatos por defecto: el {@code DataSource} y el {@code JdbcTemplate} autoconfigurados
+ * siguen siendo los de la aplicación, y estos solo se inyectan por nombre.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    @Value("${users.export.datasource.url}")
+    private String url;
+
+    @Value("${users.export.datasource.maximum-pool-size:2}")
+    private int maximumPoolSize;
+
+    @Bean(defaultCandidate = false)
+    public HikariDataSource exportDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName("export");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public JdbcTemplate exportJdbcTemplate(HikariDataSource exportDataSource) {
+        return new JdbcTemplate(exportDataSource);
+    }
+}
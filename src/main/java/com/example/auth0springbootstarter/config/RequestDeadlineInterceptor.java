@@ -0,0 +1,37 @@
+package com.example.auth0springbootstarter.config;
+
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Fija el plazo de cada request antes de invocar al controller y lo quita al terminar, o al liberarse el hilo
+ * si el controller responde de forma asíncrona.
+ */
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private final Duration budget;
+
+    public RequestDeadlineInterceptor(Duration budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.set(RequestDeadline.after(budget));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.set(null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.set(null);
+    }
+}
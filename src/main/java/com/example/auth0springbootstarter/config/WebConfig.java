@@ -0,0 +1,21 @@
+package com.example.auth0springbootstarter.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // debe ser menor que el timeout del gateway, así el trabajo del servidor termina antes de que el cliente se rinda
+    @Value("${web.request-deadline:PT25S}")
+    private Duration requestDeadline;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor(requestDeadline));
+    }
+}
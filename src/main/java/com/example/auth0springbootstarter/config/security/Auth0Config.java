@@ -2,14 +2,15 @@ package com.example.auth0springbootstarter.config.security;
 
 import com.auth0.client.auth.AuthAPI;
 import com.auth0.client.mgmt.ManagementAPI;
-import com.auth0.client.mgmt.SimpleTokenProvider;
-import com.auth0.exception.Auth0Exception;
 import com.auth0.net.client.Auth0HttpClient;
 import com.auth0.net.client.DefaultHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class Auth0Config {
 
@@ -22,12 +23,68 @@ public class Auth0Config {
     @Value("${auth0.client.secret}")
     private  String clientSecret;
 
+    @Value("${auth0.management.token.refresh-margin:5m}")
+    private Duration tokenRefreshMargin;
+
+    @Value("${auth0.management.token.retry-delay:10s}")
+    private Duration tokenRetryDelay;
+
+    @Value("${auth0.http.max-requests:64}")
+    private int maxRequests;
+
+    @Value("${auth0.http.max-requests-per-host:64}")
+    private int maxRequestsPerHost;
+
+    @Value("${auth0.rate-limit.max-retries:3}")
+    private int rateLimitMaxRetries;
+
+    @Value("${auth0.rate-limit.initial-capacity:10}")
+    private int rateLimitInitialCapacity;
+
+    @Value("${auth0.rate-limit.initial-rate-per-second:2}")
+    private double rateLimitInitialRatePerSecond;
+
+    @Value("${auth0.circuit-breaker.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${auth0.circuit-breaker.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${auth0.circuit-breaker.failure-rate-threshold:50}")
+    private int circuitFailureRateThreshold;
+
+    @Value("${auth0.circuit-breaker.open-duration:PT30S}")
+    private Duration circuitOpenDuration;
+
+    @Value("${auth0.circuit-breaker.half-open-calls:3}")
+    private int circuitHalfOpenCalls;
+
+    @Value("${auth0.bulkhead.max-concurrent:16}")
+    private int bulkheadMaxConcurrent;
+
+    @Value("${auth0.bulkhead.max-wait:PT0.5S}")
+    private Duration bulkheadMaxWait;
+
     @Bean
-    public Auth0HttpClient auth0HttpClient() {
-        return DefaultHttpClient.newBuilder()
+    public Auth0HttpClient auth0HttpClient(MeterRegistry meterRegistry) {
+        DefaultHttpClient httpClient = DefaultHttpClient.newBuilder()
                 .withConnectTimeout(10)
                 .withReadTimeout(10)
+                // los 429 los reintenta RateLimitedHttpClient según el reset que informa Auth0
+                .withMaxRetries(0)
+                // el dispatcher de OkHttp admite por defecto 5 llamadas asíncronas por host: todas van al tenant
+                .withMaxRequests(maxRequests)
+                .withMaxRequestsPerHost(maxRequestsPerHost)
                 .build();
+
+        CircuitBreakerHttpClient.Settings circuitSettings = new CircuitBreakerHttpClient.Settings(circuitWindowSize,
+                circuitMinimumCalls, circuitFailureRateThreshold, circuitOpenDuration, circuitHalfOpenCalls,
+                bulkheadMaxConcurrent, bulkheadMaxWait);
+
+        // el plazo del request se aplica por fuera: la espera por cupo en el límite de tasa también lo consume.
+        // El circuito va por fuera del límite de tasa: con el circuito abierto ni siquiera se espera cupo
+        return new DeadlineHttpClient(new CircuitBreakerHttpClient(new RateLimitedHttpClient(httpClient,
+                rateLimitMaxRetries, rateLimitInitialCapacity, rateLimitInitialRatePerSecond), circuitSettings, meterRegistry));
     }
 
     @Bean
@@ -38,15 +95,18 @@ public class Auth0Config {
     }
 
     @Bean
-    public ManagementAPI managementAPI(Auth0HttpClient httpClient, AuthAPI authAPI) throws Auth0Exception {
-        // obtengo token inicial
-        String apiToken = authAPI.requestToken("https://" + domain + "/api/v2/")
-                .execute()
-                .getBody()
-                .getAccessToken();
+    public RefreshingTokenProvider managementTokenProvider(AuthAPI authAPI, MeterRegistry meterRegistry) {
+        // el primer token se pide en segundo plano, el arranque no espera a Auth0
+        RefreshingTokenProvider tokenProvider = new RefreshingTokenProvider(authAPI, "https://" + domain + "/api/v2/",
+                tokenRefreshMargin, tokenRetryDelay, meterRegistry);
+        tokenProvider.start();
+        return tokenProvider;
+    }
 
+    @Bean
+    public ManagementAPI managementAPI(Auth0HttpClient httpClient, RefreshingTokenProvider tokenProvider) {
         // acá se maneja la renovación automática del token
-        return ManagementAPI.newBuilder(domain, SimpleTokenProvider.create(apiToken))
+        return ManagementAPI.newBuilder(domain, tokenProvider)
                 .withHttpClient(httpClient)
                 .build();
     }
@@ -0,0 +1,361 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.exception.Auth0Exception;
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import com.example.auth0springbootstarter.exception.Auth0UnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorador de {@link Auth0HttpClient} que aísla cada grupo de endpoints de la Management API ({@code users},
+ * {@code roles}, {@code jobs}, ...) con un circuit breaker y un bulkhead.
+ * <p>
+ * El circuito se abre cuando, en las últimas {@code windowSize} llamadas del grupo, la proporción de fallos (errores
+ * de red o respuestas 5xx) alcanza el umbral; abierto, las llamadas fallan enseguida con
+ * {@link Auth0UnavailableException} hasta que pasa {@code openDuration}, y luego unas pocas llamadas de prueba
+ * deciden si se cierra o vuelve a abrirse. El bulkhead limita las llamadas en vuelo por grupo: si Auth0 se vuelve
+ * lento, los hilos que esperan quedan acotados en lugar de agotar los de Tomcat y las conexiones a la base.
+ * <p>
+ * Publica {@code auth0.circuit.state} (0 cerrado, 1 abierto, 2 semiabierto), {@code auth0.circuit.transitions},
+ * {@code auth0.circuit.rejected} y {@code auth0.bulkhead.in-flight}, etiquetados por grupo.
+ */
+@Slf4j
+public class CircuitBreakerHttpClient implements Auth0HttpClient {
+
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * @param windowSize Llamadas consideradas para calcular la proporción de fallos.
+     * @param minimumCalls Llamadas mínimas en la ventana antes de poder abrir el circuito.
+     * @param failureRateThreshold Porcentaje de fallos que abre el circuito.
+     * @param openDuration Tiempo que el circuito queda abierto antes de probar de nuevo.
+     * @param halfOpenCalls Llamadas de prueba exitosas necesarias para cerrarlo.
+     * @param maxConcurrentCalls Llamadas en vuelo por grupo.
+     * @param maxWait Espera máxima de una llamada síncrona por lugar en el bulkhead; las asíncronas no esperan.
+     */
+    public record Settings(int windowSize, int minimumCalls, int failureRateThreshold, Duration openDuration,
+                           int halfOpenCalls, int maxConcurrentCalls, Duration maxWait) {
+    }
+
+    private final Auth0HttpClient delegate;
+    private final Settings settings;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    public CircuitBreakerHttpClient(Auth0HttpClient delegate, Settings settings, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Auth0HttpResponse sendRequest(Auth0HttpRequest request) throws Auth0Exception {
+        Group group = groupFor(request);
+        group.admit(acquireBulkhead(group, settings.maxWait()));
+
+        try {
+            Auth0HttpResponse response = delegate.sendRequest(request);
+            group.breaker.onResult(!isFailure(response));
+            return response;
+        } catch (Auth0Exception | RuntimeException e) {
+            group.breaker.onResult(false);
+            throw e;
+        } finally {
+            group.bulkhead.release();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Auth0HttpResponse> sendRequestAsync(Auth0HttpRequest request) {
+        Group group = groupFor(request);
+        try {
+            group.admit(group.bulkhead.tryAcquire());
+        } catch (Auth0UnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendAdmitted(group, request);
+    }
+
+    /**
+     * Envío asíncrono para quien de todos modos bloquea hasta la respuesta ({@link DeadlineHttpClient}): espera
+     * lugar en el bulkhead como una llamada síncrona, hasta {@code maxWait} o {@code waitLimit} si es menor.
+     *
+     * @throws Auth0UnavailableException Si el circuito está abierto o no hubo lugar a tiempo.
+     */
+    public CompletableFuture<Auth0HttpResponse> sendRequestAsync(Auth0HttpRequest request, Duration waitLimit) throws Auth0Exception {
+        Group group = groupFor(request);
+        Duration wait = waitLimit.compareTo(settings.maxWait()) < 0 ? waitLimit : settings.maxWait();
+        group.admit(acquireBulkhead(group, wait));
+        return sendAdmitted(group, request);
+    }
+
+    private CompletableFuture<Auth0HttpResponse> sendAdmitted(Group group, Auth0HttpRequest request) {
+        CompletableFuture<Auth0HttpResponse> response;
+        try {
+            response = delegate.sendRequestAsync(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete((result, error) -> {
+            group.bulkhead.release();
+            group.breaker.onResult(error == null && !isFailure(result));
+        });
+    }
+
+    private boolean acquireBulkhead(Group group, Duration wait) throws Auth0Exception {
+        if (group.breaker.isOpen()) {
+            // no tiene sentido esperar lugar para una llamada que el circuito va a rechazar
+            return false;
+        }
+        try {
+            return group.bulkhead.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Auth0Exception("Interrumpido esperando lugar en el bulkhead de Auth0", e);
+        }
+    }
+
+    private Group groupFor(Auth0HttpRequest request) {
+        return groups.computeIfAbsent(RateLimitedHttpClient.endpointGroup(request.getUrl()), Group::new);
+    }
+
+    private static boolean isFailure(Auth0HttpResponse response) {
+        return response.getCode() >= 500;
+    }
+
+    /**
+     * Circuito, bulkhead y métricas de un grupo de endpoints.
+     */
+    private final class Group {
+
+        private final String name;
+        private final Breaker breaker;
+        private final Semaphore bulkhead;
+        private final Counter rejectedOpen;
+        private final Counter rejectedBulkhead;
+
+        Group(String name) {
+            this.name = name;
+            this.breaker = new Breaker(settings, (from, to) -> onTransition(name, from, to));
+            this.bulkhead = new Semaphore(settings.maxConcurrentCalls());
+
+            Gauge.builder("auth0.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("Estado del circuit breaker de Auth0: 0 cerrado, 1 abierto, 2 semiabierto")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            Gauge.builder("auth0.bulkhead.in-flight", bulkhead, b -> settings.maxConcurrentCalls() - b.availablePermits())
+                    .description("Llamadas a Auth0 en vuelo por grupo de endpoints")
+                    .tag("group", name)
+                    .register(meterRegistry);
+            this.rejectedOpen = rejectedCounter(name, "circuit_open");
+            this.rejectedBulkhead = rejectedCounter(name, "bulkhead_full");
+        }
+
+        /**
+         * Deja pasar la llamada si el circuito lo permite y obtuvo lugar en el bulkhead.
+         *
+         * @param bulkheadAcquired Si ya se tomó un lugar en el bulkhead; se devuelve si la llamada se rechaza.
+         * @throws Auth0UnavailableException Si la llamada se rechaza.
+         */
+        void admit(boolean bulkheadAcquired) throws Auth0UnavailableException {
+            Duration retryAfter = breaker.tryAcquire();
+            if (retryAfter != null) {
+                if (bulkheadAcquired) {
+                    bulkhead.release();
+                }
+                rejectedOpen.increment();
+                throw new Auth0UnavailableException("Auth0 no está disponible para '" + name + "' (circuito abierto)", retryAfter);
+            }
+            if (!bulkheadAcquired) {
+                breaker.release();
+                rejectedBulkhead.increment();
+                throw new Auth0UnavailableException("Demasiadas llamadas en curso a Auth0 para '" + name + "'", BULKHEAD_RETRY_AFTER);
+            }
+        }
+
+        private Counter rejectedCounter(String group, String reason) {
+            return Counter.builder("auth0.circuit.rejected")
+                    .description("Llamadas a Auth0 rechazadas sin enviarse")
+                    .tag("group", group)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+
+    private void onTransition(String group, Breaker.State from, Breaker.State to) {
+        if (to == Breaker.State.OPEN) {
+            log.warn("Circuito de Auth0 para '{}' abierto ({} -> {})", group, from, to);
+        } else {
+            log.info("Circuito de Auth0 para '{}': {} -> {}", group, from, to);
+        }
+        Counter.builder("auth0.circuit.transitions")
+                .description("Cambios de estado del circuit breaker de Auth0")
+                .tag("group", group)
+                .tag("from", from.name().toLowerCase(Locale.ROOT))
+                .tag("to", to.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Circuit breaker por conteo sobre una ventana deslizante de resultados.
+     * <p>
+     * Usa un {@link ReentrantLock}, igual que el token bucket de {@link RateLimitedHttpClient}, para no fijar hilos
+     * virtuales a su carrier.
+     */
+    static final class Breaker {
+
+        enum State {
+            CLOSED,
+            OPEN,
+            HALF_OPEN
+        }
+
+        interface TransitionListener {
+            void onTransition(State from, State to);
+        }
+
+        private final Settings settings;
+        private final TransitionListener listener;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final boolean[] window;
+        private int next;
+        private int calls;
+        private int failures;
+
+        private volatile State state = State.CLOSED;
+        private long openedAt;
+        private int trialsInFlight;
+        private int trialsSucceeded;
+
+        Breaker(Settings settings, TransitionListener listener) {
+            this.settings = settings;
+            this.listener = listener;
+            this.window = new boolean[settings.windowSize()];
+        }
+
+        State state() {
+            return state;
+        }
+
+        boolean isOpen() {
+            return state == State.OPEN && System.nanoTime() - openedAt < settings.openDuration().toNanos();
+        }
+
+        /**
+         * @return {@code null} si la llamada puede hacerse, o cuánto esperar antes de reintentar.
+         */
+        Duration tryAcquire() {
+            lock.lock();
+            try {
+                if (state == State.OPEN) {
+                    long remaining = settings.openDuration().toNanos() - (System.nanoTime() - openedAt);
+                    if (remaining > 0) {
+                        return Duration.ofNanos(remaining);
+                    }
+                    transition(State.HALF_OPEN);
+                }
+                if (state == State.HALF_OPEN) {
+                    if (trialsInFlight + trialsSucceeded >= settings.halfOpenCalls()) {
+                        // las llamadas de prueba ya están en curso: el resto espera su resultado
+                        return BULKHEAD_RETRY_AFTER;
+                    }
+                    trialsInFlight++;
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Devuelve el permiso de una llamada que finalmente no se hizo.
+         */
+        void release() {
+            lock.lock();
+            try {
+                if (state == State.HALF_OPEN && trialsInFlight > 0) {
+                    trialsInFlight--;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void onResult(boolean success) {
+            lock.lock();
+            try {
+                switch (state) {
+                    case CLOSED -> record(success);
+                    case HALF_OPEN -> {
+                        if (trialsInFlight > 0) {
+                            trialsInFlight--;
+                        }
+                        if (!success) {
+                            transition(State.OPEN);
+                        } else if (++trialsSucceeded >= settings.halfOpenCalls()) {
+                            transition(State.CLOSED);
+                        }
+                    }
+                    case OPEN -> {
+                        // resultado de una llamada admitida antes de abrirse: no cambia nada
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void record(boolean success) {
+            if (calls == window.length) {
+                if (window[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            window[next] = !success;
+            if (!success) {
+                failures++;
+            }
+            next = (next + 1) % window.length;
+
+            if (calls >= settings.minimumCalls() && failures * 100 >= settings.failureRateThreshold() * calls) {
+                transition(State.OPEN);
+            }
+        }
+
+        private void transition(State to) {
+            State from = state;
+            state = to;
+            switch (to) {
+                case OPEN -> openedAt = System.nanoTime();
+                case HALF_OPEN -> {
+                    trialsInFlight = 0;
+                    trialsSucceeded = 0;
+                }
+                case CLOSED -> {
+                    calls = 0;
+                    failures = 0;
+                    next = 0;
+                }
+            }
+            listener.onTransition(from, to);
+        }
+    }
+}
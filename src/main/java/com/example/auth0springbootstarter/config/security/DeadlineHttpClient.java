@@ -0,0 +1,65 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.exception.Auth0Exception;
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import com.example.auth0springbootstarter.exception.RequestDeadlineExceededException;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Decorador de {@link Auth0HttpClient} que acota las llamadas síncronas al plazo del request en curso
+ * ({@link RequestDeadline}).
+ * <p>
+ * El SDK no permite fijar timeouts por llamada, así que con un plazo vigente el request se envía de forma
+ * asíncrona y se espera solo lo que queda del plazo; al vencer, el hilo del request se libera y la llamada
+ * abandonada termina en el dispatcher del cliente HTTP, acotada por sus propios timeouts. Sin plazo (tareas
+ * programadas, renovación del token) el comportamiento no cambia. Aunque el envío sea asíncrono, la espera por
+ * lugar en el bulkhead es la de una llamada síncrona, acotada también por lo que queda del plazo. Las llamadas
+ * asíncronas se acotan en {@code Auth0UserAsyncService}, que conoce el plazo de quien las originó.
+ */
+public class DeadlineHttpClient implements Auth0HttpClient {
+
+    private final CircuitBreakerHttpClient delegate;
+
+    public DeadlineHttpClient(CircuitBreakerHttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Auth0HttpResponse sendRequest(Auth0HttpRequest request) throws Auth0Exception {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return delegate.sendRequest(request);
+        }
+        if (deadline.expired()) {
+            throw new RequestDeadlineExceededException("Se agotó el plazo del request antes de llamar a Auth0");
+        }
+
+        CompletableFuture<Auth0HttpResponse> response = delegate.sendRequestAsync(request, Duration.ofMillis(deadline.remainingMillis()));
+        try {
+            return response.get(deadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RequestDeadlineExceededException("Se agotó el plazo del request esperando la respuesta de Auth0", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Auth0Exception auth0Exception) {
+                throw auth0Exception;
+            }
+            throw new Auth0Exception("Error llamando a Auth0", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Auth0Exception("Interrumpido esperando la respuesta de Auth0", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Auth0HttpResponse> sendRequestAsync(Auth0HttpRequest request) {
+        return delegate.sendRequestAsync(request);
+    }
+}
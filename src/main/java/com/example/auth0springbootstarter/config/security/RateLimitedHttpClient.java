@@ -0,0 +1,210 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.exception.Auth0Exception;
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decorador de {@link Auth0HttpClient} que respeta los límites de tasa de la Management API.
+ * <p>
+ * Mantiene un token bucket por grupo de endpoints ({@code users}, {@code roles}, {@code jobs}, ...) cuyo tamaño
+ * y ritmo de recarga se ajustan con los headers {@code X-RateLimit-Limit}, {@code X-RateLimit-Remaining} y
+ * {@code X-RateLimit-Reset} de cada respuesta. Un request solo sale cuando su bucket tiene cupo; si igualmente
+ * recibe un 429, se reintenta cuando el bucket se recarga según el reset informado por Auth0, en lugar de
+ * usar un backoff fijo.
+ */
+@Slf4j
+public class RateLimitedHttpClient implements Auth0HttpClient {
+
+    private static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String RESET_HEADER = "X-RateLimit-Reset";
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final Auth0HttpClient delegate;
+    private final int maxRetries;
+    private final int initialCapacity;
+    private final double initialRatePerSecond;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitedHttpClient(Auth0HttpClient delegate, int maxRetries, int initialCapacity, double initialRatePerSecond) {
+        this.delegate = delegate;
+        this.maxRetries = maxRetries;
+        this.initialCapacity = initialCapacity;
+        this.initialRatePerSecond = initialRatePerSecond;
+    }
+
+    @Override
+    public Auth0HttpResponse sendRequest(Auth0HttpRequest request) throws Auth0Exception {
+        TokenBucket bucket = bucketFor(request);
+
+        for (int attempt = 0; ; attempt++) {
+            sleep(bucket.reserve());
+
+            Auth0HttpResponse response = delegate.sendRequest(request);
+            observe(bucket, response);
+
+            if (response.getCode() != TOO_MANY_REQUESTS || attempt >= maxRetries) {
+                return response;
+            }
+            log.warn("Límite de tasa alcanzado en '{}' (intento {}/{}), se reintenta al recargarse el bucket",
+                    request.getUrl(), attempt + 1, maxRetries);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Auth0HttpResponse> sendRequestAsync(Auth0HttpRequest request) {
+        return sendAsync(request, bucketFor(request), 0);
+    }
+
+    private CompletableFuture<Auth0HttpResponse> sendAsync(Auth0HttpRequest request, TokenBucket bucket, int attempt) {
+        long wait = bucket.reserve();
+        Executor admission = wait > 0
+                ? CompletableFuture.delayedExecutor(wait, TimeUnit.MILLISECONDS)
+                : Runnable::run;
+
+        return CompletableFuture.supplyAsync(() -> null, admission)
+                .thenCompose(ignored -> delegate.sendRequestAsync(request))
+                .thenCompose(response -> {
+                    observe(bucket, response);
+
+                    if (response.getCode() != TOO_MANY_REQUESTS || attempt >= maxRetries) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    log.warn("Límite de tasa alcanzado en '{}' (intento {}/{}), se reintenta al recargarse el bucket",
+                            request.getUrl(), attempt + 1, maxRetries);
+                    return sendAsync(request, bucket, attempt + 1);
+                });
+    }
+
+    private TokenBucket bucketFor(Auth0HttpRequest request) {
+        return buckets.computeIfAbsent(endpointGroup(request.getUrl()),
+                group -> new TokenBucket(initialCapacity, initialRatePerSecond));
+    }
+
+    /**
+     * Agrupa los requests por recurso de la Management API: {@code /api/v2/users/{id}/roles} cuenta como {@code users}.
+     */
+    static String endpointGroup(String url) {
+        String path = URI.create(url).getPath();
+        String prefix = "/api/v2/";
+        if (path == null || !path.startsWith(prefix)) {
+            return "default";
+        }
+        String resource = path.substring(prefix.length());
+        int slash = resource.indexOf('/');
+        return slash >= 0 ? resource.substring(0, slash) : resource;
+    }
+
+    private static void observe(TokenBucket bucket, Auth0HttpResponse response) {
+        Long limit = header(response, LIMIT_HEADER);
+        Long remaining = header(response, REMAINING_HEADER);
+        Long reset = header(response, RESET_HEADER);
+        if (limit != null && remaining != null && reset != null) {
+            bucket.observe(limit, remaining, TimeUnit.SECONDS.toMillis(reset));
+        }
+    }
+
+    private static Long header(Auth0HttpResponse response, String name) {
+        Map<String, String> headers = response.getHeaders();
+        if (headers == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey())) {
+                try {
+                    return Long.parseLong(header.getValue().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void sleep(long millis) throws Auth0Exception {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Auth0Exception("Interrumpido esperando cupo en el límite de tasa de Auth0", e);
+        }
+    }
+
+    /**
+     * Token bucket cuyo tamaño y ritmo de recarga se recalibran con cada respuesta de Auth0.
+     * Los tokens pueden quedar negativos: representan requests ya admitidos que esperan su turno.
+     * <p>
+     * Usa un {@link ReentrantLock} en lugar de {@code synchronized}: con hilos virtuales, esperar un monitor
+     * ocupado fija el hilo virtual a su carrier, y todos los requests a Auth0 pasan por acá.
+     */
+    static final class TokenBucket {
+
+        private double capacity;
+        private double tokens;
+        private double refillPerMilli;
+        private long lastRefill;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        TokenBucket(int capacity, double ratePerSecond) {
+            this.capacity = capacity;
+            this.tokens = capacity;
+            this.refillPerMilli = ratePerSecond / 1000d;
+            this.lastRefill = System.currentTimeMillis();
+        }
+
+        /**
+         * Reserva un token y devuelve cuántos milisegundos hay que esperar para poder usarlo.
+         */
+        long reserve() {
+            lock.lock();
+            try {
+                refill(System.currentTimeMillis());
+                tokens -= 1;
+                if (tokens >= 0) {
+                    return 0;
+                }
+                return (long) Math.ceil(-tokens / refillPerMilli);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void observe(long limit, long remaining, long resetAtMillis) {
+            lock.lock();
+            try {
+                long now = System.currentTimeMillis();
+                refill(now);
+
+                capacity = limit;
+                // Auth0 recupera lo consumido de forma gradual hasta el reset informado
+                long window = Math.max(1000, resetAtMillis - now);
+                refillPerMilli = Math.max(limit - remaining, 1) / (double) window;
+                // nunca se asume más cupo del que informa Auth0
+                tokens = Math.min(tokens, remaining);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerMilli);
+            lastRefill = now;
+        }
+    }
+}
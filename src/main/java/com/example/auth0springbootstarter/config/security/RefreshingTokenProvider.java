@@ -0,0 +1,166 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.client.auth.AuthAPI;
+import com.auth0.client.mgmt.TokenProvider;
+import com.auth0.exception.Auth0Exception;
+import com.auth0.json.auth.TokenHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link TokenProvider} para la Management API que renueva el token de client-credentials antes
+ * de que expire.
+ * <p>
+ * El token se cachea junto con su vencimiento y se vuelve a pedir {@code refreshMargin} antes del
+ * {@code expires_in}. Los refrescos concurrentes se colapsan en una única llamada a
+ * {@link AuthAPI#requestToken(String)}: quien llegue mientras hay uno en curso espera ese mismo resultado.
+ * <p>
+ * Hay un único temporizador pendiente a la vez: cada refresco, lo haya disparado el temporizador o un request,
+ * cancela el anterior y programa el siguiente (la renovación o el reintento). Ese estado solo se toca desde el
+ * hilo del scheduler.
+ */
+@Slf4j
+public class RefreshingTokenProvider implements TokenProvider, AutoCloseable {
+
+    private final AuthAPI authAPI;
+    private final String audience;
+    private final Duration refreshMargin;
+    private final Duration retryDelay;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+
+    /** Próximo refresco programado; solo se lee y escribe desde el hilo del scheduler. */
+    private ScheduledFuture<?> nextRefresh;
+
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+
+    public RefreshingTokenProvider(AuthAPI authAPI, String audience, Duration refreshMargin,
+                                   Duration retryDelay, MeterRegistry meterRegistry) {
+        this.authAPI = authAPI;
+        this.audience = audience;
+        this.refreshMargin = refreshMargin;
+        this.retryDelay = retryDelay;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth0-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.refreshTimer = Timer.builder("auth0.token.refresh")
+                .description("Latencia de la renovación del token de la Management API")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("auth0.token.refresh.failures")
+                .description("Renovaciones fallidas del token de la Management API")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lanza el primer pedido de token en segundo plano, sin bloquear el arranque.
+     */
+    public void start() {
+        refresh();
+    }
+
+    @Override
+    public String getToken() throws Auth0Exception {
+        try {
+            return getTokenAsync().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Auth0Exception auth0Exception) {
+                throw auth0Exception;
+            }
+            throw new Auth0Exception("No se pudo obtener el token de la Management API", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> getTokenAsync() {
+        CachedToken token = current.get();
+        Instant now = Instant.now();
+
+        if (token != null && now.isBefore(token.expiresAt())) {
+            if (now.isAfter(token.expiresAt().minus(refreshMargin))) {
+                refresh();
+            }
+            return CompletableFuture.completedFuture(token.accessToken());
+        }
+
+        return refresh().thenApply(CachedToken::accessToken);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Devuelve el refresco en curso o inicia uno nuevo si no hay ninguno.
+     */
+    private CompletableFuture<CachedToken> refresh() {
+        CompletableFuture<CachedToken> pending = inFlight.get();
+        if (pending != null) {
+            return pending;
+        }
+
+        CompletableFuture<CachedToken> created = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, created)) {
+            return inFlight.get();
+        }
+
+        scheduler.execute(() -> {
+            try {
+                CachedToken token = refreshTimer.recordCallable(this::requestToken);
+                current.set(token);
+                reschedule(Duration.between(Instant.now(), token.expiresAt().minus(refreshMargin)));
+                created.complete(token);
+            } catch (Exception e) {
+                refreshFailures.increment();
+                log.error("Error renovando el token de la Management API, se reintentará en {}", retryDelay, e);
+                reschedule(retryDelay);
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.compareAndSet(created, null);
+            }
+        });
+
+        return created;
+    }
+
+    private CachedToken requestToken() throws Auth0Exception {
+        TokenHolder holder = authAPI.requestToken(audience)
+                .execute()
+                .getBody();
+
+        Instant expiresAt = Instant.now().plusSeconds(holder.getExpiresIn());
+        log.info("Token de la Management API renovado, expira en {}", expiresAt);
+        return new CachedToken(holder.getAccessToken(), expiresAt);
+    }
+
+    /**
+     * Reemplaza el refresco programado por uno dentro de {@code delay}. Se llama desde el hilo del scheduler.
+     */
+    private void reschedule(Duration delay) {
+        if (nextRefresh != null) {
+            nextRefresh.cancel(false);
+        }
+        nextRefresh = scheduler.schedule(this::refresh, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    private record CachedToken(String accessToken, Instant expiresAt) {
+    }
+}
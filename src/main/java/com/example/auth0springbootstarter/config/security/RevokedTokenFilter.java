@@ -0,0 +1,46 @@
+package com.example.auth0springbootstarter.config.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationEntryPoint;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rechaza con 401 los tokens válidos cuyo usuario fue desactivado o eliminado después de emitirlos.
+ * <p>
+ * Se ubica después de {@code BearerTokenAuthenticationFilter}, así que solo ve tokens con firma y claims ya
+ * validados. No es un bean para que el contenedor no lo registre también fuera de la cadena de seguridad.
+ */
+public class RevokedTokenFilter extends OncePerRequestFilter {
+
+    private final UserRevocationList revocationList;
+    private final AuthenticationEntryPoint entryPoint = new BearerTokenAuthenticationEntryPoint();
+
+    public RevokedTokenFilter(UserRevocationList revocationList) {
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof JwtAuthenticationToken jwtAuthentication
+                && revocationList.isRevoked(jwtAuthentication.getToken().getSubject())) {
+            SecurityContextHolder.clearContext();
+            entryPoint.commence(request, response, new InvalidBearerTokenException("El usuario del token fue desactivado"));
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.auth0springbootstarter.config.security;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,14 +18,20 @@ import org.springframework.security.oauth2.core.OAuth2TokenValidator;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
 
 import static com.example.auth0springbootstarter.utils.Constants.ADMIN_ROLE_NAME;
+import static com.example.auth0springbootstarter.utils.Constants.IDEMPOTENCY_KEY_HEADER;
 import static com.example.auth0springbootstarter.utils.Constants.OWNER_ROLE_NAME;
 import static org.springframework.security.config.Customizer.withDefaults;
 
@@ -41,33 +52,66 @@ public class SecurityConfig {
     @Value("${spring.websecurity.debug:false}")
     private boolean webSecurityDebug;
 
+    @Value("${auth0.jwt.cache.maximum-size:10000}")
+    private long jwtCacheMaximumSize;
+
+    @Value("${auth0.jwks.uri:${auth0.issuer.uri}.well-known/jwks.json}")
+    private String jwksUri;
+
+    @Value("${auth0.jwks.snapshot-path:jwks-snapshot.json}")
+    private String jwksSnapshotPath;
+
+    @Value("${auth0.jwks.refresh-interval:1h}")
+    private Duration jwksRefreshInterval;
+
+    @Value("${auth0.jwks.min-refresh-interval:30s}")
+    private Duration jwksMinRefreshInterval;
+
+    @Value("${management.server.port:#{null}}")
+    private Integer managementPort;
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                           UserRevocationList revocationList) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(withDefaults())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/*/public/**", "/public/**").permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers(prometheusScrapeOnManagementPort()).permitAll()
                         .requestMatchers("/*/owner/**", "/owner/**").hasRole(OWNER_ROLE_NAME)
                         .requestMatchers("/*/admin/**", "/admin/**").hasRole(ADMIN_ROLE_NAME)
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2resourceServer -> oauth2resourceServer
                         .jwt(jwt -> jwt
-                                .decoder(jwtDecoder())
+                                .decoder(jwtDecoder)
                                 .jwtAuthenticationConverter(jwtAuthenticationConverter())
                         )
-                );
+                )
+                // los tokens de usuarios desactivados se rechazan sin esperar a su exp
+                .addFilterAfter(new RevokedTokenFilter(revocationList), BearerTokenAuthenticationFilter.class);
         return http.build();
     }
 
+    /**
+     * Scrapes de {@code /actuator/prometheus} que llegan por el puerto de management, que no se publica fuera de
+     * la red interna. Sin {@code management.server.port} no coincide con nada y el endpoint exige token.
+     */
+    private RequestMatcher prometheusScrapeOnManagementPort() {
+        return request -> managementPort != null
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList(corsAllowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PATCH", "PUT", "DELETE", "OPTIONS", "HEAD"));
         configuration.setAllowCredentials(true);
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", IDEMPOTENCY_KEY_HEADER));
         configuration.setExposedHeaders(Arrays.asList("X-Get-Header"));
         configuration.setMaxAge(3600L);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -76,8 +120,23 @@ public class SecurityConfig {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        NimbusJwtDecoder jwtDecoder = JwtDecoders.fromOidcIssuerLocation(issuer);
+    SnapshotJwkSource jwkSource() {
+        SnapshotJwkSource jwkSource = new SnapshotJwkSource(URI.create(jwksUri), Path.of(jwksSnapshotPath),
+                jwksRefreshInterval, jwksMinRefreshInterval);
+        jwkSource.start();
+        return jwkSource;
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(SnapshotJwkSource jwkSource, MeterRegistry meterRegistry) {
+        // sin discovery OIDC al arrancar: las claves salen del snapshot local y se refrescan en segundo plano
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+            // los claims los validan los OAuth2TokenValidator configurados abajo
+        });
+
+        NimbusJwtDecoder jwtDecoder = new NimbusJwtDecoder(jwtProcessor);
         OAuth2TokenValidator<Jwt> audienceValidator = new AudienceValidator(audience);
 
         OAuth2TokenValidator<Jwt> withIssuer = JwtValidators.createDefaultWithIssuer(issuer);
@@ -85,7 +144,13 @@ public class SecurityConfig {
 
         jwtDecoder.setJwtValidator(withAudience);
 
-        return jwtDecoder;
+        // jwt.validation mide firma y claims (solo fallos de caché); jwt.decode, el costo de cada request
+        JwtDecoder validating = new TimedJwtDecoder(jwtDecoder, "jwt.validation",
+                "Verificación de firma y claims de un access token", meterRegistry);
+
+        // los tokens ya validados se reutilizan hasta su exp
+        JwtDecoder caching = new CachingJwtDecoder(validating, jwtCacheMaximumSize, meterRegistry);
+        return new TimedJwtDecoder(caching, "jwt.decode", "Decodificación de un access token por request", meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,166 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fuente de claves JWKS que nunca bloquea la verificación de un token en una llamada HTTP.
+ * <p>
+ * Al iniciar carga las claves desde un snapshot local, y en segundo plano las refresca contra el
+ * endpoint JWKS del issuer: de forma periódica y cuando llega un token firmado con un {@code kid}
+ * desconocido. Cada refresco exitoso reemplaza el set de claves de forma atómica y actualiza el
+ * snapshot en disco para el próximo arranque.
+ */
+@Slf4j
+public class SnapshotJwkSource implements JWKSource<SecurityContext>, AutoCloseable {
+
+    private final URI jwksUri;
+    private final Path snapshotPath;
+    private final Duration refreshInterval;
+    private final Duration minRefreshInterval;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<JWKSet> jwkSet = new AtomicReference<>(new JWKSet());
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicReference<Instant> lastRefreshAttempt = new AtomicReference<>(Instant.EPOCH);
+
+    public SnapshotJwkSource(URI jwksUri, Path snapshotPath, Duration refreshInterval, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.snapshotPath = snapshotPath;
+        this.refreshInterval = refreshInterval;
+        this.minRefreshInterval = minRefreshInterval;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Carga el snapshot local (si existe) y programa los refrescos en segundo plano.
+     */
+    public void start() {
+        loadSnapshot();
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> keys = jwkSelector.select(jwkSet.get());
+        if (keys.isEmpty()) {
+            // kid desconocido: posible rotación de claves, se refresca sin bloquear al request
+            requestRefresh();
+        }
+        return keys;
+    }
+
+    /**
+     * Descarga el JWKS del issuer y, si es válido, reemplaza el set actual y el snapshot.
+     * Si ya hay un refresco en curso no hace nada.
+     */
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        lastRefreshAttempt.set(Instant.now());
+        try {
+            HttpRequest request = HttpRequest.newBuilder(jwksUri)
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                log.warn("No se pudo refrescar el JWKS desde '{}': HTTP {}", jwksUri, response.statusCode());
+                return;
+            }
+
+            JWKSet fetched = JWKSet.parse(response.body());
+            if (fetched.getKeys().isEmpty()) {
+                log.warn("El JWKS obtenido desde '{}' no contiene claves, se conserva el set actual", jwksUri);
+                return;
+            }
+
+            jwkSet.set(fetched);
+            log.info("JWKS refrescado desde '{}' ({} claves)", jwksUri, fetched.getKeys().size());
+            writeSnapshot(fetched);
+
+        } catch (IOException | ParseException e) {
+            log.warn("Error refrescando el JWKS desde '{}'", jwksUri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Encola un refresco como máximo una vez por {@code minRefreshInterval}: ante una ráfaga de tokens con un
+     * {@code kid} desconocido, solo el llamador que gana el {@code compareAndSet} lo encola.
+     */
+    private void requestRefresh() {
+        Instant last = lastRefreshAttempt.get();
+        Instant now = Instant.now();
+        if (now.isBefore(last.plus(minRefreshInterval)) || !lastRefreshAttempt.compareAndSet(last, now)) {
+            return;
+        }
+        scheduler.execute(this::refresh);
+    }
+
+    private void loadSnapshot() {
+        if (!Files.exists(snapshotPath)) {
+            log.warn("No existe snapshot de JWKS en '{}', se esperará al primer refresco", snapshotPath);
+            return;
+        }
+        try {
+            JWKSet snapshot = JWKSet.load(snapshotPath.toFile());
+            jwkSet.set(snapshot);
+            log.info("JWKS cargado desde el snapshot '{}' ({} claves)", snapshotPath, snapshot.getKeys().size());
+        } catch (IOException | ParseException e) {
+            log.warn("No se pudo leer el snapshot de JWKS en '{}'", snapshotPath, e);
+        }
+    }
+
+    private void writeSnapshot(JWKSet keys) {
+        try {
+            Path directory = snapshotPath.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, "jwks", ".tmp");
+            Files.writeString(tmp, keys.toString(true));
+            Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("No se pudo guardar el snapshot de JWKS en '{}'", snapshotPath, e);
+        }
+    }
+}
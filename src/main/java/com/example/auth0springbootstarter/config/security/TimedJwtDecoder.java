@@ -0,0 +1,41 @@
+package com.example.auth0springbootstarter.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorador de {@link JwtDecoder} que mide cada decodificación con un timer etiquetado por resultado.
+ * <p>
+ * Los dos timers se registran al construirlo, así medir un request son dos lecturas de {@code nanoTime} y un
+ * registro en el histograma, sin buscar el meter ni crear tags.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Timer success;
+    private final Timer failure;
+
+    public TimedJwtDecoder(JwtDecoder delegate, String name, String description, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.success = Timer.builder(name).description(description).tag("outcome", "success").register(meterRegistry);
+        this.failure = Timer.builder(name).description(description).tag("outcome", "invalid").register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        long start = System.nanoTime();
+        try {
+            Jwt jwt = delegate.decode(token);
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (JwtException e) {
+            failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.auth0springbootstarter.config.security;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conjunto en memoria de los auth0Id cuyos tokens ya emitidos no deben aceptarse (usuarios desactivados o
+ * eliminados).
+ * <p>
+ * La consulta es un lookup en un hash set concurrente, sin I/O ni bloqueos; el auth0Id sale del {@code Jwt}
+ * cacheado por {@link CachingJwtDecoder}, así que su hash ya está calculado. Un conjunto exacto alcanza: con
+ * cientos de miles de usuarios inactivos ocupa pocos MB, y un filtro de Bloom igual necesitaría este conjunto
+ * para descartar los falsos positivos.
+ */
+@Component
+public class UserRevocationList {
+
+    private volatile Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+    public boolean isRevoked(String auth0Id) {
+        return auth0Id != null && revoked.contains(auth0Id);
+    }
+
+    public void revoke(String auth0Id) {
+        revoked.add(auth0Id);
+    }
+
+    public void restore(String auth0Id) {
+        revoked.remove(auth0Id);
+    }
+
+    /**
+     * Reemplaza el contenido completo, por ejemplo al cargar la lista al arrancar.
+     */
+    public void replaceAll(Collection<String> auth0Ids) {
+        Set<String> loaded = ConcurrentHashMap.newKeySet(auth0Ids.size());
+        loaded.addAll(auth0Ids);
+        revoked = loaded;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+}
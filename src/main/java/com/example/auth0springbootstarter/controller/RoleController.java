@@ -43,7 +43,7 @@ public class RoleController {
 
     @PatchMapping("/{id}")
     public ResponseEntity<RoleResponse> updateRole(@PathVariable Long id,
-                                                   @RequestBody @Valid RoleUpdateRequest dto) throws Auth0Exception {
+                                                   @RequestBody @Valid RoleUpdateRequest dto) {
         return ResponseEntity.ok(roleService.update(id, dto));
     }
 }
@@ -1,26 +1,48 @@
 package com.example.auth0springbootstarter.controller;
 
 import com.auth0.exception.Auth0Exception;
+import com.example.auth0springbootstarter.persistence.dto.CursorPage;
+import com.example.auth0springbootstarter.persistence.dto.user.UserDeletionRequest;
 import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
 import com.example.auth0springbootstarter.persistence.dto.user.UserUpdateRequest;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusRequest;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportFailureResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRegistrationResponse;
 import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
+import com.example.auth0springbootstarter.service.IdempotencyService;
+import com.example.auth0springbootstarter.service.SignupRegistrationService;
+import com.example.auth0springbootstarter.service.UserBulkService;
+import com.example.auth0springbootstarter.service.UserDeletionService;
+import com.example.auth0springbootstarter.service.UserExportService;
+import com.example.auth0springbootstarter.service.UserImportService;
 import com.example.auth0springbootstarter.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
 
 import static com.example.auth0springbootstarter.utils.Constants.ADMIN_ROLE_NAME;
+import static com.example.auth0springbootstarter.utils.Constants.IDEMPOTENCY_KEY_HEADER;
 import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
 
 @RestController
@@ -29,24 +51,61 @@ import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
 public class UserController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+    private final UserBulkService userBulkService;
+    private final UserDeletionService userDeletionService;
+    private final IdempotencyService idempotencyService;
+    private final SignupRegistrationService signupRegistrationService;
 
     @Value("${auth0.audience}")
     private String audience;
 
     @PostMapping("/signup")
-    public ResponseEntity<UserResponse> registerFromJwt(@AuthenticationPrincipal Jwt jwt) throws Auth0Exception {
+    public CompletableFuture<ResponseEntity<UserResponse>> registerFromJwt(@AuthenticationPrincipal Jwt jwt,
+                                                                           @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         String auth0UserId = jwt.getSubject();
         String email = jwt.getClaim(audience + "/email");
         String name = jwt.getClaim(audience + "/name");
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(userService.registerFromJwt(auth0UserId, email, name));
+        return idempotencyService.execute("signup:" + auth0UserId, idempotencyKey, null, UserResponse.class, () -> {
+                    try {
+                        return CompletableFuture.completedFuture(userService.registerFromJwt(auth0UserId, email, name));
+                    } catch (Auth0Exception e) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                })
+                .thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
     }
 
     @PostMapping("/owner/signup")
     @PreAuthorize("hasRole('OWNER')")
-    public ResponseEntity<UserResponse> registerFromDto(@RequestBody @Valid SignupRequest dto) throws Auth0Exception {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(userService.registerFromDto(dto));
+    public CompletableFuture<ResponseEntity<UserResponse>> registerFromDto(@AuthenticationPrincipal Jwt jwt,
+                                                                           @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                           @RequestBody @Valid SignupRequest dto) {
+        return idempotencyService.execute("owner-signup:" + jwt.getSubject(), idempotencyKey, dto, UserResponse.class,
+                        () -> userService.registerFromDto(dto))
+                .thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
+    }
+
+    @PostMapping("/owner/signup/async")
+    @PreAuthorize("hasRole('OWNER')")
+    public CompletableFuture<ResponseEntity<SignupRegistrationResponse>> registerFromDtoAsync(@AuthenticationPrincipal Jwt jwt,
+                                                                                            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                                                            @RequestBody @Valid SignupRequest dto) {
+        // la URL de estado se arma antes: la respuesta puede completarse fuera del hilo del request
+        UriComponentsBuilder statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath().path("/users/owner/signup/{id}");
+        return idempotencyService.execute("owner-signup-async:" + jwt.getSubject(), idempotencyKey, dto, SignupRegistrationResponse.class,
+                        () -> CompletableFuture.completedFuture(signupRegistrationService.submit(dto, jwt.getSubject())))
+                .thenApply(registration -> ResponseEntity.accepted()
+                        .location(statusUrl.buildAndExpand(registration.getId()).toUri())
+                        .body(registration));
+    }
+
+    @GetMapping("/owner/signup/{id}")
+    @PreAuthorize("hasRole('OWNER')")
+    public ResponseEntity<SignupRegistrationResponse> getSignupRegistration(@AuthenticationPrincipal Jwt jwt,
+                                                                            @PathVariable Long id) {
+        return ResponseEntity.ok(signupRegistrationService.findById(id, jwt.getSubject()));
     }
 
     @GetMapping("/me")
@@ -73,21 +132,85 @@ public class UserController {
         return ResponseEntity.ok(userService.findAllByRole(pageable, ADMIN_ROLE_NAME));
     }
 
+    @GetMapping("/admin/users/cursor")
+    public ResponseEntity<CursorPage<UserResponse>> getAllUsersByCursor(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.findAllByRole(cursor, size, USER_ROLE_NAME));
+    }
+
+    @GetMapping("/admin/admins/cursor")
+    public ResponseEntity<CursorPage<UserResponse>> getAllAdminsByCursor(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(userService.findAllByRole(cursor, size, ADMIN_ROLE_NAME));
+    }
+
+    @GetMapping("/admin/export")
+    public void exportUsers(@RequestParam(defaultValue = "NDJSON") UserExportService.Format format,
+                            @RequestParam(required = false) String role,
+                            @RequestParam(required = false) Boolean active,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + format.getExtension() + "\"");
+        userExportService.export(format, role, active, response.getOutputStream());
+    }
+
+    @PostMapping("/admin/bulk/activate")
+    public CompletableFuture<ResponseEntity<BulkUserStatusResponse>> bulkActivateUsers(@RequestBody @Valid BulkUserStatusRequest dto) {
+        return userBulkService.activate(dto)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping("/admin/bulk/deactivate")
+    public CompletableFuture<ResponseEntity<BulkUserStatusResponse>> bulkDeactivateUsers(@RequestBody @Valid BulkUserStatusRequest dto) {
+        return userBulkService.deactivate(dto)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/admin/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportResponse> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(userImportService.create(file));
+    }
+
+    @GetMapping("/admin/import/{id}")
+    public ResponseEntity<UserImportResponse> getImport(@PathVariable Long id) {
+        return ResponseEntity.ok(userImportService.findById(id));
+    }
+
+    @GetMapping("/admin/import/{id}/failures")
+    public ResponseEntity<Page<UserImportFailureResponse>> getImportFailures(@PathVariable Long id,
+                                                                             @PageableDefault(size = 50) Pageable pageable) {
+        return ResponseEntity.ok(userImportService.findFailures(id, pageable));
+    }
+
     @PatchMapping
-    public ResponseEntity<UserResponse> updateUser(@AuthenticationPrincipal Jwt jwt,
-                                                   @RequestBody @Valid UserUpdateRequest dto) throws Auth0Exception {
+    public CompletableFuture<ResponseEntity<UserResponse>> updateUser(@AuthenticationPrincipal Jwt jwt,
+                                                                      @RequestBody @Valid UserUpdateRequest dto) {
         String auth0Id = jwt.getSubject();
-        return ResponseEntity.ok(userService.update(auth0Id, dto));
+        return userService.update(auth0Id, dto)
+                .thenApply(ResponseEntity::ok);
     }
 
     @PatchMapping("/admin/{id}/activate")
-    public ResponseEntity<UserResponse> activateUser(@PathVariable Long id) throws Auth0Exception {
+    public ResponseEntity<UserResponse> activateUser(@PathVariable Long id) {
         return ResponseEntity.ok(userService.activate(id));
     }
 
     @PatchMapping("/admin/{id}/deactivate")
-    public ResponseEntity<UserResponse> deactivateUser(@PathVariable Long id) throws Auth0Exception {
+    public ResponseEntity<UserResponse> deactivateUser(@PathVariable Long id) {
         return ResponseEntity.ok(userService.deactivate(id));
     }
 
+    @PatchMapping("/admin/{id}/schedule-deletion")
+    public ResponseEntity<UserResponse> scheduleUserDeletion(@PathVariable Long id,
+                                                             @RequestBody(required = false) @Valid UserDeletionRequest dto) {
+        return ResponseEntity.ok(userDeletionService.schedule(id, dto != null ? dto.getDueAt() : null));
+    }
+
+    @PatchMapping("/admin/{id}/cancel-deletion")
+    public ResponseEntity<UserResponse> cancelUserDeletion(@PathVariable Long id) {
+        return ResponseEntity.ok(userDeletionService.cancel(id));
+    }
+
 }
@@ -0,0 +1,7 @@
+package com.example.auth0springbootstarter.event;
+
+/**
+ * Se publica cuando cambia algún rol; afecta a todos los usuarios que lo tienen asignado.
+ */
+public record RolesChangedEvent() {
+}
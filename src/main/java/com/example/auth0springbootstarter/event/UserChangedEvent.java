@@ -0,0 +1,9 @@
+package com.example.auth0springbootstarter.event;
+
+/**
+ * Se publica cuando cambian los datos de un usuario que se exponen en {@code /users/me}.
+ *
+ * @param auth0Id ID en Auth0 del usuario modificado.
+ */
+public record UserChangedEvent(String auth0Id) {
+}
@@ -0,0 +1,23 @@
+package com.example.auth0springbootstarter.exception;
+
+import com.auth0.exception.Auth0Exception;
+
+import java.time.Duration;
+
+/**
+ * La llamada a Auth0 se rechazó sin enviarse: el circuito del grupo de endpoints está abierto o su bulkhead no
+ * tiene lugar. No se reintenta; el cliente puede volver a intentar tras {@link #getRetryAfter()}.
+ */
+public class Auth0UnavailableException extends Auth0Exception {
+
+    private final Duration retryAfter;
+
+    public Auth0UnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
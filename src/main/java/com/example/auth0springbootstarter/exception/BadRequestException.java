@@ -0,0 +1,7 @@
+package com.example.auth0springbootstarter.exception;
+
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
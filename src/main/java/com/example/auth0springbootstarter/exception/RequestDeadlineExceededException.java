@@ -0,0 +1,18 @@
+package com.example.auth0springbootstarter.exception;
+
+import com.auth0.exception.Auth0Exception;
+
+/**
+ * Se agotó el plazo del request antes de que Auth0 respondiera. Extiende {@link Auth0Exception} para que los
+ * llamadores la traten como cualquier otro error de Auth0 (compensaciones incluidas), pero no se reintenta.
+ */
+public class RequestDeadlineExceededException extends Auth0Exception {
+
+    public RequestDeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public RequestDeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.auth0springbootstarter.mapper;
+
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRegistrationResponse;
+import com.example.auth0springbootstarter.persistence.entity.SignupRegistration;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface SignupRegistrationMapper {
+
+    SignupRegistrationResponse toResponse(SignupRegistration entity);
+}
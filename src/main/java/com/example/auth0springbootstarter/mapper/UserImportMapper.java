@@ -0,0 +1,15 @@
+package com.example.auth0springbootstarter.mapper;
+
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportFailureResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportResponse;
+import com.example.auth0springbootstarter.persistence.entity.UserImportJob;
+import com.example.auth0springbootstarter.persistence.entity.UserImportRecord;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface UserImportMapper {
+
+    UserImportResponse toResponse(UserImportJob entity);
+
+    UserImportFailureResponse toFailureResponse(UserImportRecord entity);
+}
@@ -0,0 +1,9 @@
+package com.example.auth0springbootstarter.persistence.dto.user;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usuario con la eliminación vencida, con lo justo para eliminarlo en Auth0 y avanzar el keyset.
+ */
+public record UserDeletionCandidate(Long id, String auth0Id, LocalDateTime deletionScheduledAt) {
+}
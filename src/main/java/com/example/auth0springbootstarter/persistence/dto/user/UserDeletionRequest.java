@@ -0,0 +1,20 @@
+package com.example.auth0springbootstarter.persistence.dto.user;
+
+import jakarta.validation.constraints.Future;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserDeletionRequest {
+
+    // si no se indica, se usa users.deletion.grace-period
+    @Future(message = "La fecha de eliminación debe ser futura")
+    private LocalDateTime dueAt;
+}
@@ -0,0 +1,38 @@
+package com.example.auth0springbootstarter.persistence.dto.user;
+
+import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de un listado de usuarios, seleccionada directamente con su rol en una sola consulta (sin entidades ni
+ * contexto de persistencia). JPQL no admite proyecciones anidadas, por eso el rol viene aplanado.
+ */
+public record UserSummary(Long id,
+                          String name,
+                          String email,
+                          Boolean active,
+                          LocalDateTime deletionScheduledAt,
+                          Long roleId,
+                          String roleName,
+                          String roleDescription,
+                          Boolean roleActive) {
+
+    public UserResponse toResponse() {
+        RoleResponse role = roleId == null ? null : RoleResponse.builder()
+                .id(roleId)
+                .name(roleName)
+                .description(roleDescription)
+                .active(roleActive)
+                .build();
+
+        return UserResponse.builder()
+                .id(id)
+                .name(name)
+                .email(email)
+                .active(active)
+                .role(role)
+                .deletionScheduledAt(deletionScheduledAt)
+                .build();
+    }
+}
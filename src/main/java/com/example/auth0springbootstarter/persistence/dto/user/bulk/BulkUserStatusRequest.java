@@ -0,0 +1,32 @@
+package com.example.auth0springbootstarter.persistence.dto.user.bulk;
+
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Selección de usuarios para una operación masiva: una lista de ids o un filtro por rol y/o dominio de email.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserStatusRequest {
+
+    private List<Long> ids;
+
+    private String roleName;
+
+    private String emailDomain;
+
+    @AssertTrue(message = "Debe indicarse una lista de ids o un filtro (roleName y/o emailDomain), pero no ambos")
+    public boolean isSelectionValid() {
+        boolean hasIds = ids != null && !ids.isEmpty();
+        boolean hasFilter = (roleName != null && !roleName.isBlank()) || (emailDomain != null && !emailDomain.isBlank());
+        return hasIds != hasFilter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.auth0springbootstarter.persistence.dto.user.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserStatusResponse {
+
+    private int requested;
+
+    private int updated;
+
+    private int unchanged;
+
+    private int notFound;
+
+    private int syncPending;
+
+    private List<BulkUserStatusResult> results;
+
+}
@@ -0,0 +1,31 @@
+package com.example.auth0springbootstarter.persistence.dto.user.bulk;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserStatusResult {
+
+    private Long id;
+
+    private String email;
+
+    private Outcome outcome;
+
+    private String error;
+
+    public enum Outcome {
+        /** Actualizado localmente y en Auth0. */
+        UPDATED,
+        /** Ya estaba en el estado pedido. */
+        UNCHANGED,
+        NOT_FOUND,
+        /** Actualizado localmente; Auth0 falló y el cambio quedó en el outbox para reintentarse. */
+        SYNC_PENDING
+    }
+}
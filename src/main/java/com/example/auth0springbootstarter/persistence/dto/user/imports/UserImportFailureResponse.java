@@ -0,0 +1,20 @@
+package com.example.auth0springbootstarter.persistence.dto.user.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportFailureResponse {
+
+    private Long lineNumber;
+
+    private String email;
+
+    private String error;
+
+}
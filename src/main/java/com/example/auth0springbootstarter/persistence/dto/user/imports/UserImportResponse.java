@@ -0,0 +1,36 @@
+package com.example.auth0springbootstarter.persistence.dto.user.imports;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+
+    private Long id;
+
+    private String status;
+
+    private Long linesRead;
+
+    private Boolean inputExhausted;
+
+    private Integer stagedRecords;
+
+    private Integer importedRecords;
+
+    private Integer failedRecords;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+}
@@ -0,0 +1,30 @@
+package com.example.auth0springbootstarter.persistence.dto.user.signup;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignupRegistrationResponse {
+
+    private Long id;
+
+    private String email;
+
+    private String status;
+
+    private Long userId;
+
+    private String lastError;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime completedAt;
+
+}
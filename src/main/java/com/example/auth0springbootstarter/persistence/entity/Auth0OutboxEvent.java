@@ -0,0 +1,72 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio pendiente de propagar a Auth0, escrito en la misma transacción que el cambio local.
+ * <p>
+ * Las operaciones sincronizan el estado actual de la entidad local con Auth0 (no un delta), por lo que
+ * reintentarlas o procesarlas fuera de orden siempre converge al último estado guardado.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "auth0_outbox", indexes = {
+        @Index(name = "idx_auth0_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class Auth0OutboxEvent extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 30, nullable = false)
+    private Operation operation;
+
+    @Column(name = "target_auth0_id", nullable = false)
+    private String targetAuth0Id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /** Identifica la toma vigente mientras el evento está {@code PROCESSING}; otro nodo que lo retome la reemplaza. */
+    @Column(name = "lease_token", length = 36)
+    private String leaseToken;
+
+    public enum Operation {
+        /** Sincroniza el flag {@code blocked} del usuario con su campo {@code active} local. */
+        SYNC_USER_STATUS,
+        /** Sincroniza el nombre y la descripción del rol con los valores locales. */
+        SYNC_ROLE
+    }
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        DONE,
+        FAILED
+    }
+}
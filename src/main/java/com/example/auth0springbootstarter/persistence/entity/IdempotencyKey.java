@@ -0,0 +1,57 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clave de idempotencia de una solicitud de alta y, una vez completada, la respuesta que se devuelve a los
+ * reintentos con la misma clave.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_key_expires_at", columnList = "expires_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_idempotency_key_key_hash", columnNames = "key_hash")
+})
+public class IdempotencyKey extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** SHA-256 del alcance (endpoint y usuario) y la clave enviada por el cliente. */
+    @Column(name = "key_hash", length = 64, nullable = false)
+    private String keyHash;
+
+    /** SHA-256 del cuerpo de la solicitud, para rechazar la misma clave con otra solicitud. */
+    @Column(name = "fingerprint", length = 64, nullable = false)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Lob
+    @Column(name = "response")
+    private String response;
+
+    /** Hasta cuándo el intento en curso retiene la clave; vencido, otro nodo puede retomarla. */
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
@@ -10,6 +10,7 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @SuperBuilder
 @Entity
+@Table(indexes = @Index(name = "idx_role_updated_at", columnList = "updated_at"))
 public class Role extends Auditable{
 
     @Id
@@ -0,0 +1,34 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease de una tarea programada que debe ejecutarse en un solo nodo a la vez, junto con el punto de avance
+ * guardado para retomarla si el nodo cae a mitad de la ejecución.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "scheduler_lease")
+public class SchedulerLease extends Auditable {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "checkpoint", length = 500)
+    private String checkpoint;
+}
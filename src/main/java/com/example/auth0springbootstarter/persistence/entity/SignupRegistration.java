@@ -0,0 +1,59 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Alta asíncrona de un usuario: se registra al aceptar la solicitud y un worker la completa creando el usuario en
+ * Auth0, asignándole el rol y guardándolo localmente.
+ * <p>
+ * El worker la toma pasándola de {@code PENDING} a {@code PROCESSING} y solo él puede cerrarla. La contraseña
+ * nunca se persiste; solo vive en memoria hasta que el worker la envía a Auth0. Por eso un alta cuyo nodo cae no
+ * puede retomarse y se marca como fallida al vencer {@code users.signup.async.timeout}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "signup_registration", indexes = {
+        @Index(name = "idx_signup_registration_email_status", columnList = "email, status"),
+        @Index(name = "idx_signup_registration_status_created_at", columnList = "status, created_at")
+})
+public class SignupRegistration extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "requested_by", nullable = false)
+    private String requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum Status {
+        PENDING,
+        PROCESSING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -3,6 +3,9 @@ package com.example.auth0springbootstarter.persistence.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
 
 @AllArgsConstructor
 @NoArgsConstructor
@@ -10,6 +13,11 @@ import lombok.experimental.SuperBuilder;
 @Setter
 @SuperBuilder
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_user_role_id_id", columnList = "role_id, id"),
+        @Index(name = "idx_user_deletion_scheduled_at_id", columnList = "deletion_scheduled_at, id"),
+        @Index(name = "idx_user_updated_at", columnList = "updated_at")
+})
 public class User extends Auditable {
 
     @Id
@@ -33,4 +41,25 @@ public class User extends Auditable {
     @JoinColumn(name = "role_id")
     private Role role;
 
+    @Column(name = "deletion_scheduled_at")
+    private LocalDateTime deletionScheduledAt;
+
+    /**
+     * {@code PENDING} mientras la provisión del primer login no terminó de asignar el rol en Auth0. Las filas
+     * existentes y las que se crean por otras vías quedan {@code READY}.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provisioning_status", length = 20, nullable = false)
+    @ColumnDefault("'READY'")
+    @Builder.Default
+    private ProvisioningStatus provisioningStatus = ProvisioningStatus.READY;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public enum ProvisioningStatus {
+        PENDING,
+        READY
+    }
 }
\ No newline at end of file
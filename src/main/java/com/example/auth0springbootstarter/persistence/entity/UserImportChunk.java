@@ -0,0 +1,50 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Grupo de registros de una importación que se envía a Auth0 como un único job de importación.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "user_import_chunk", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_import_chunk_job_number", columnNames = {"job_id", "number"})
+})
+public class UserImportChunk extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "number", nullable = false)
+    private Integer number;
+
+    @Column(name = "auth0_job_id")
+    private String auth0JobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.STAGED;
+
+    public enum Status {
+        /** Registrado en la base de datos, pendiente de enviar a Auth0. */
+        STAGED,
+        /** Enviado a Auth0 como job de importación, pendiente de su resultado. */
+        SUBMITTED,
+        /** Job de Auth0 finalizado, pendiente de asignar roles. */
+        IMPORTED,
+        /** Roles asignados en Auth0, pendiente de crear los usuarios locales. */
+        ROLES_ASSIGNED,
+        DONE
+    }
+}
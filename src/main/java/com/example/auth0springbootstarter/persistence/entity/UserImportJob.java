@@ -0,0 +1,82 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Importación masiva de usuarios a partir de un archivo NDJSON con registros del tipo {@code SignupRequest}.
+ * <p>
+ * El archivo se registra completo en la base de datos, en chunks y con las contraseñas ya hasheadas, mientras se
+ * recibe ({@code STAGING}); recién entonces la importación queda {@code PENDING} y cualquier nodo puede tomarla.
+ * {@code bytesRead} y {@code linesRead} indican cuánto del archivo se registró.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "user_import_job")
+public class UserImportJob extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "file_name", length = 500)
+    private String fileName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    @Builder.Default
+    private Status status = Status.STAGING;
+
+    @Column(name = "bytes_read", nullable = false)
+    @Builder.Default
+    private Long bytesRead = 0L;
+
+    @Column(name = "lines_read", nullable = false)
+    @Builder.Default
+    private Long linesRead = 0L;
+
+    @Column(name = "input_exhausted", nullable = false)
+    @Builder.Default
+    private Boolean inputExhausted = false;
+
+    @Column(name = "staged_records", nullable = false)
+    @Builder.Default
+    private Integer stagedRecords = 0;
+
+    @Column(name = "imported_records", nullable = false)
+    @Builder.Default
+    private Integer importedRecords = 0;
+
+    @Column(name = "failed_records", nullable = false)
+    @Builder.Default
+    private Integer failedRecords = 0;
+
+    /** Intentos fallidos consecutivos; se reinicia cada vez que la importación avanza. */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public enum Status {
+        STAGING,
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
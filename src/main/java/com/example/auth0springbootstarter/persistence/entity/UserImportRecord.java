@@ -0,0 +1,66 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Registro individual de una importación. Guarda el hash bcrypt de la contraseña (nunca el texto plano) solo
+ * hasta que el usuario queda creado.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "user_import_record", indexes = {
+        @Index(name = "idx_user_import_record_chunk_status", columnList = "chunk_id, status"),
+        @Index(name = "idx_user_import_record_job_status", columnList = "job_id, status"),
+        @Index(name = "idx_user_import_record_job_email", columnList = "job_id, email")
+})
+public class UserImportRecord extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "chunk_id", nullable = false)
+    private Long chunkId;
+
+    @Column(name = "line_number", nullable = false)
+    private Long lineNumber;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "role_id")
+    private Long roleId;
+
+    @Column(name = "auth0_id")
+    private String auth0Id;
+
+    @Column(name = "password_hash", length = 100)
+    private String passwordHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    public enum Status {
+        STAGED,
+        /** Creado en Auth0, pendiente de crear el usuario local. */
+        CREATED,
+        DONE,
+        FAILED
+    }
+}
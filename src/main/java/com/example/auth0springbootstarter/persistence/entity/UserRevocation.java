@@ -0,0 +1,32 @@
+package com.example.auth0springbootstarter.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Entrada del registro de cambios de acceso de los usuarios: una desactivación o eliminación revoca los tokens
+ * ya emitidos del usuario y una reactivación los vuelve a aceptar. Cada nodo lee este registro de forma
+ * incremental para mantener su lista local de revocaciones.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+@Entity
+@Table(name = "user_revocation_log", indexes = {
+        @Index(name = "idx_user_revocation_log_created_at", columnList = "created_at")
+})
+public class UserRevocation extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "auth0_id", nullable = false)
+    private String auth0Id;
+
+    @Column(name = "revoked", nullable = false)
+    private Boolean revoked;
+}
@@ -0,0 +1,60 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface Auth0OutboxRepository extends JpaRepository<Auth0OutboxEvent, Long> {
+
+    // SKIP LOCKED (-2): cada nodo toma eventos distintos sin esperar a los demás
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from Auth0OutboxEvent e where e.status in :statuses and e.nextAttemptAt <= :now order by e.id")
+    List<Auth0OutboxEvent> findDueForUpdate(@Param("statuses") Collection<Auth0OutboxEvent.Status> statuses,
+                                            @Param("now") LocalDateTime now,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("delete from Auth0OutboxEvent e where e.status = :status and e.updatedAt < :before")
+    int deleteByStatusUpdatedBefore(@Param("status") Auth0OutboxEvent.Status status,
+                                    @Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("update Auth0OutboxEvent e set e.status = com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status.DONE, "
+            + "e.processedAt = :now, e.updatedAt = :now "
+            + "where e.id in :ids and e.status = com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status.PENDING")
+    int markDone(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Auth0OutboxEvent e set e.nextAttemptAt = :now, e.updatedAt = :now "
+            + "where e.id in :ids and e.status = com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status.PENDING")
+    int release(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Auth0OutboxEvent e set e.nextAttemptAt = :until, e.updatedAt = :now "
+            + "where e.id = :id and e.leaseToken = :token "
+            + "and e.status = com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status.PROCESSING")
+    int renewLease(@Param("id") Long id, @Param("token") String token, @Param("until") LocalDateTime until,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update Auth0OutboxEvent e set e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, "
+            + "e.processedAt = :processedAt, e.lastError = :error, e.leaseToken = null, e.updatedAt = :now "
+            + "where e.id = :id and e.leaseToken = :token "
+            + "and e.status = com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status.PROCESSING")
+    int recordResult(@Param("id") Long id, @Param("token") String token, @Param("status") Auth0OutboxEvent.Status status,
+                     @Param("attempts") Integer attempts, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                     @Param("processedAt") LocalDateTime processedAt, @Param("error") String error,
+                     @Param("now") LocalDateTime now);
+}
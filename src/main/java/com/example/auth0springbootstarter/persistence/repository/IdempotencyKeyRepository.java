@@ -0,0 +1,34 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
+
+    Optional<IdempotencyKey> findByKeyHash(String keyHash);
+
+    @Modifying
+    @Query("update IdempotencyKey k set k.status = com.example.auth0springbootstarter.persistence.entity.IdempotencyKey.Status.COMPLETED, "
+            + "k.response = :response, k.lockedUntil = null, k.expiresAt = :expiresAt, k.updatedAt = :now where k.id = :id")
+    int complete(@Param("id") Long id, @Param("response") String response,
+                 @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update IdempotencyKey k set k.lockedUntil = :lockedUntil, k.updatedAt = :now where k.id = :id "
+            + "and k.status = com.example.auth0springbootstarter.persistence.entity.IdempotencyKey.Status.IN_PROGRESS")
+    int renewLock(@Param("id") Long id, @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.id = :id")
+    int deleteKey(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,37 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.SchedulerLease;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // SKIP LOCKED (-2): si otro nodo está tomando el lease en este momento, se desiste sin esperar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select l from SchedulerLease l where l.name = :name "
+            + "and (l.leaseUntil is null or l.leaseUntil <= :now or l.owner = :owner)")
+    Optional<SchedulerLease> findClaimableForUpdate(@Param("name") String name,
+                                                    @Param("owner") String owner,
+                                                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.leaseUntil = :until, l.checkpoint = :checkpoint, l.updatedAt = :now "
+            + "where l.name = :name and l.owner = :owner")
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("checkpoint") String checkpoint,
+              @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = null, l.leaseUntil = null, l.updatedAt = :now "
+            + "where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
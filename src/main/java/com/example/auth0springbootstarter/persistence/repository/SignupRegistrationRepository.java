@@ -0,0 +1,46 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.SignupRegistration;
+import com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SignupRegistrationRepository extends JpaRepository<SignupRegistration, Long> {
+
+    Optional<SignupRegistration> findByIdAndRequestedBy(Long id, String requestedBy);
+
+    boolean existsByEmailAndStatusIn(String email, Collection<Status> statuses);
+
+    @Modifying
+    @Query("update SignupRegistration r set r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.PROCESSING, "
+            + "r.updatedAt = :now "
+            + "where r.id = :id and r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update SignupRegistration r set r.status = :status, r.userId = :userId, r.lastError = :error, "
+            + "r.completedAt = :now, r.updatedAt = :now "
+            + "where r.id = :id and r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.PROCESSING")
+    int finish(@Param("id") Long id, @Param("status") Status status, @Param("userId") Long userId,
+               @Param("error") String error, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update SignupRegistration r set r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.FAILED, "
+            + "r.lastError = :error, r.completedAt = :now, r.updatedAt = :now "
+            + "where r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.PENDING and r.createdAt < :before")
+    int failPendingCreatedBefore(@Param("before") LocalDateTime before, @Param("error") String error,
+                                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("update SignupRegistration r set r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.FAILED, "
+            + "r.lastError = :error, r.completedAt = :now, r.updatedAt = :now "
+            + "where r.status = com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status.PROCESSING and r.updatedAt < :before")
+    int failProcessingClaimedBefore(@Param("before") LocalDateTime before, @Param("error") String error,
+                                    @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.UserImportChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface UserImportChunkRepository extends JpaRepository<UserImportChunk, Long> {
+    Optional<UserImportChunk> findFirstByJobIdAndStatusNotOrderByNumberAsc(Long jobId, UserImportChunk.Status status);
+    int countByJobId(Long jobId);
+}
@@ -0,0 +1,36 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.UserImportJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserImportJobRepository extends JpaRepository<UserImportJob, Long> {
+
+    // SKIP LOCKED (-2): cada nodo toma importaciones distintas sin esperar a los demás
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select j from UserImportJob j where j.status in :statuses "
+            + "and (j.leaseUntil is null or j.leaseUntil <= :now) order by j.id")
+    List<UserImportJob> findClaimableForUpdate(@Param("statuses") Collection<UserImportJob.Status> statuses,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    @Modifying
+    @Query("update UserImportJob j set j.status = com.example.auth0springbootstarter.persistence.entity.UserImportJob.Status.FAILED, "
+            + "j.lastError = :error, j.completedAt = :now, j.updatedAt = :now "
+            + "where j.status = com.example.auth0springbootstarter.persistence.entity.UserImportJob.Status.STAGING "
+            + "and j.updatedAt < :before")
+    int failStaleStaging(@Param("before") LocalDateTime before, @Param("error") String error,
+                         @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,21 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.UserImportRecord;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserImportRecordRepository extends JpaRepository<UserImportRecord, Long> {
+    List<UserImportRecord> findByChunkIdAndStatus(Long chunkId, UserImportRecord.Status status);
+    Page<UserImportRecord> findByJobIdAndStatus(Long jobId, UserImportRecord.Status status, Pageable pageable);
+
+    @Query("select r.email from UserImportRecord r where r.jobId = :jobId and r.status <> :excluded and r.email in :emails")
+    List<String> findEmailsInJob(@Param("jobId") Long jobId,
+                                 @Param("excluded") UserImportRecord.Status excluded,
+                                 @Param("emails") Collection<String> emails);
+}
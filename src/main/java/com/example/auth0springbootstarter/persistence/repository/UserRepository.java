@@ -1,15 +1,82 @@
 package com.example.auth0springbootstarter.persistence.repository;
 
+import com.example.auth0springbootstarter.persistence.dto.user.UserDeletionCandidate;
+import com.example.auth0springbootstarter.persistence.dto.user.UserSummary;
 import com.example.auth0springbootstarter.persistence.entity.Role;
 import com.example.auth0springbootstarter.persistence.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // proyección de los listados: usuario y rol en una sola fila, sin hidratar entidades
+    String SUMMARY = "com.example.auth0springbootstarter.persistence.dto.user.UserSummary("
+            + "u.id, u.name, u.email, u.active, u.deletionScheduledAt, r.id, r.name, r.description, r.active)";
+
     Optional<User> findByAuth0Id(String auth0Id);
     boolean existsByEmail(String email);
-    Page<User> findByRole(Pageable pageable, Role role);
+    List<VersionView> findByUpdatedAtAfter(LocalDateTime since);
+
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select u.auth0Id from User u where u.active = false")
+    List<String> findInactiveAuth0Ids();
+
+    @Query("select u.auth0Id from User u where u.auth0Id in :auth0Ids and u.active = true")
+    List<String> findActiveAuth0Ids(@Param("auth0Ids") Collection<String> auth0Ids);
+
+    @Query("select u.auth0Id from User u where u.auth0Id in :auth0Ids")
+    List<String> findExistingAuth0Ids(@Param("auth0Ids") Collection<String> auth0Ids);
+
+    @Query("select u from User u where (:roleId is null or u.role.id = :roleId) "
+            + "and (:emailPattern is null or u.email like :emailPattern escape '\\') order by u.id")
+    List<User> findByFilter(@Param("roleId") Long roleId, @Param("emailPattern") String emailPattern, Limit limit);
+
+    // sube version y updated_at igual que una modificación por entidad, para la sincronización de cachés entre nodos
+    @Modifying
+    @Query("update User u set u.active = :active, u.version = u.version + 1, u.updatedAt = :now "
+            + "where u.id in :ids and u.active <> :active")
+    int updateActive(@Param("ids") Collection<Long> ids, @Param("active") boolean active, @Param("now") LocalDateTime now);
+
+    // keyset sobre (deletion_scheduled_at, id): cada chunk es un rango del índice, sin ordenar los pendientes
+    @Query("select new com.example.auth0springbootstarter.persistence.dto.user.UserDeletionCandidate("
+            + "u.id, u.auth0Id, u.deletionScheduledAt) from User u "
+            + "where u.deletionScheduledAt <= :cutoff and (u.deletionScheduledAt > :afterDueAt "
+            + "or (u.deletionScheduledAt = :afterDueAt and u.id > :afterId)) "
+            + "order by u.deletionScheduledAt, u.id")
+    List<UserDeletionCandidate> findDueForDeletion(@Param("cutoff") LocalDateTime cutoff,
+                                                   @Param("afterDueAt") LocalDateTime afterDueAt,
+                                                   @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    @Modifying
+    @Query("delete from User u where u.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "select new " + SUMMARY + " from User u left join u.role r",
+            countQuery = "select count(u) from User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    @Query(value = "select new " + SUMMARY + " from User u join u.role r where u.role = :role",
+            countQuery = "select count(u) from User u where u.role = :role")
+    Page<UserSummary> findSummariesByRole(@Param("role") Role role, Pageable pageable);
+
+    @Query("select new " + SUMMARY + " from User u join u.role r where u.role = :role and u.id > :afterId order by u.id")
+    List<UserSummary> findSummariesByRoleAfter(@Param("role") Role role, @Param("afterId") Long afterId, Limit limit);
+
+    interface VersionView {
+        String getAuth0Id();
+        Long getVersion();
+    }
 }
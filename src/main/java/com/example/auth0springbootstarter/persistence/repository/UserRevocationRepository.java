@@ -0,0 +1,27 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.entity.UserRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface UserRevocationRepository extends JpaRepository<UserRevocation, Long> {
+
+    List<UserRevocation> findByCreatedAtAfterOrderByIdAsc(LocalDateTime since);
+
+    List<UserRevocation> findByIdGreaterThanOrderByIdAsc(Long afterId);
+
+    List<UserRevocation> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("select coalesce(max(r.id), 0) from UserRevocation r")
+    long findMaxId();
+
+    @Modifying
+    @Query("delete from UserRevocation r where r.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,39 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.service.Auth0OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class Auth0OutboxScheduler {
+
+    private final Auth0OutboxService auth0OutboxService;
+
+    @Scheduled(fixedDelayString = "${auth0.outbox.poll-interval:PT1S}")
+    public void dispatchPendingEvents() {
+        try {
+            int processed = auth0OutboxService.dispatchPending();
+            if (processed > 0) {
+                log.debug("Outbox de Auth0: {} eventos procesados", processed);
+            }
+        } catch (Exception e) {
+            log.error("Error procesando el outbox de Auth0", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth0.outbox.purge-interval:PT1H}")
+    public void purgeProcessedEvents() {
+        try {
+            int purged = auth0OutboxService.purgeProcessed();
+            if (purged > 0) {
+                log.info("Outbox de Auth0: {} eventos procesados eliminados", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error eliminando eventos procesados del outbox de Auth0", e);
+        }
+    }
+}
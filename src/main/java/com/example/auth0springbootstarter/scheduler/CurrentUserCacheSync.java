@@ -0,0 +1,53 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.persistence.repository.RoleRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.CurrentUserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Propaga entre nodos las invalidaciones de {@link CurrentUserCache}.
+ * <p>
+ * Cada nodo consulta periódicamente los usuarios y roles modificados desde la última consulta y descarta las
+ * entradas cuya versión ya no coincide con la de la base de datos. Solo se activa con
+ * {@code users.me.cache.cross-node.enabled=true}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "users.me.cache.cross-node.enabled", havingValue = "true")
+public class CurrentUserCacheSync {
+
+    // margen para tolerar diferencias de reloj entre nodos al comparar updated_at
+    private static final Duration OVERLAP = Duration.ofSeconds(5);
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final CurrentUserCache currentUserCache;
+
+    private LocalDateTime lastSync = LocalDateTime.now();
+
+    @Scheduled(fixedDelayString = "${users.me.cache.cross-node.poll-interval:PT5S}")
+    public void syncInvalidations() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync.minus(OVERLAP);
+        try {
+            if (roleRepository.existsByUpdatedAtAfter(since)) {
+                currentUserCache.invalidateAll();
+            } else {
+                userRepository.findByUpdatedAtAfter(since)
+                        .forEach(changed -> currentUserCache.invalidateIfStale(changed.getAuth0Id(), changed.getVersion()));
+            }
+            lastSync = now;
+        } catch (Exception e) {
+            log.error("Error sincronizando invalidaciones de la caché de /users/me", e);
+        }
+    }
+}
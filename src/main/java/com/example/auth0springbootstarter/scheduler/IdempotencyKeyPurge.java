@@ -0,0 +1,27 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyKeyPurge {
+
+    private final IdempotencyService idempotencyService;
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = idempotencyService.purgeExpired();
+            if (purged > 0) {
+                log.info("Claves de idempotencia: {} claves vencidas eliminadas", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error eliminando claves de idempotencia vencidas", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.service.SignupRegistrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SignupRegistrationSweep {
+
+    private final SignupRegistrationService signupRegistrationService;
+
+    @Scheduled(fixedDelayString = "${users.signup.async.sweep-interval:PT1M}")
+    public void failExpiredRegistrations() {
+        try {
+            int failed = signupRegistrationService.failExpired();
+            if (failed > 0) {
+                log.warn("Altas asíncronas: {} altas vencidas marcadas como fallidas", failed);
+            }
+        } catch (Exception e) {
+            log.error("Error marcando las altas asíncronas vencidas", e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.auth0springbootstarter.scheduler;
 
-import com.auth0.exception.Auth0Exception;
-import com.example.auth0springbootstarter.service.UserService;
+import com.example.auth0springbootstarter.service.UserDeletionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,14 +11,14 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class UserDeletionScheduler {
 
-    private final UserService userService;
+    private final UserDeletionService userDeletionService;
 
-    @Scheduled(cron = "0 0 2 * * ?")
+    @Scheduled(cron = "${users.deletion.cron:0 0 2 * * ?}")
     public void processScheduledDeletions() {
         log.info("=== Iniciando proceso de eliminación de usuarios programados ===");
         try {
-            userService.executeScheduledDeletions();
-            log.info("=== Proceso de eliminación completado exitosamente ===");
+            int deleted = userDeletionService.executeScheduledDeletions();
+            log.info("=== Proceso de eliminación completado exitosamente: {} usuarios eliminados ===", deleted);
         } catch (Exception e) {
             log.error("Error crítico procesando eliminaciones programadas", e);
             // Opcional: enviar alerta a administradores
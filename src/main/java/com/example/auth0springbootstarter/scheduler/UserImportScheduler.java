@@ -0,0 +1,27 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.service.UserImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserImportScheduler {
+
+    private final UserImportService userImportService;
+
+    @Scheduled(fixedDelayString = "${users.import.poll-interval:PT10S}")
+    public void processPendingImports() {
+        try {
+            int processed = userImportService.processPending();
+            if (processed > 0) {
+                log.debug("Importación de usuarios: {} importaciones procesadas", processed);
+            }
+        } catch (Exception e) {
+            log.error("Error procesando importaciones de usuarios", e);
+        }
+    }
+}
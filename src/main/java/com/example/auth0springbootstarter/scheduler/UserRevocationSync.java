@@ -0,0 +1,39 @@
+package com.example.auth0springbootstarter.scheduler;
+
+import com.example.auth0springbootstarter.service.UserRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRevocationSync {
+
+    private final UserRevocationService userRevocationService;
+
+    @Scheduled(fixedDelayString = "${users.revocation.poll-interval:PT1S}")
+    public void syncRevocations() {
+        try {
+            int applied = userRevocationService.sync();
+            if (applied > 0) {
+                log.debug("Lista de revocación: {} cambios aplicados", applied);
+            }
+        } catch (Exception e) {
+            log.error("Error sincronizando la lista de revocación de usuarios", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${users.revocation.purge-interval:PT1H}")
+    public void purgeExpiredRevocations() {
+        try {
+            int purged = userRevocationService.purgeExpired();
+            if (purged > 0) {
+                log.info("Registro de revocaciones: {} entradas vencidas eliminadas", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error eliminando entradas vencidas del registro de revocaciones", e);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.auth0springbootstarter.service;
+
+import com.auth0.exception.Auth0Exception;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Operation;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.repository.Auth0OutboxRepository;
+import com.example.auth0springbootstarter.persistence.repository.RoleRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0RoleService;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox transaccional para los cambios que deben propagarse a Auth0.
+ * <p>
+ * Los servicios registran el cambio con {@link #enqueue} dentro de su propia transacción, que se cierra sin
+ * esperar a Auth0. {@link #dispatchPending()} toma los eventos vencidos en lotes (con {@code SKIP LOCKED}, así
+ * varios nodos pueden despachar en paralelo), llama a Auth0 fuera de cualquier transacción y reprograma con
+ * backoff exponencial los que fallan.
+ * <p>
+ * Cada toma lleva un token. Antes de despachar cada evento se renueva su lease con ese token, y el resultado se
+ * escribe solo si el token sigue siendo el suyo. Así un lote lento no hace que se despache dos veces un evento
+ * que otro nodo retomó al vencer el lease, ni pisa lo que ese nodo registró.
+ * <p>
+ * {@link #purgeProcessed()} elimina los eventos {@code DONE} pasada su retención y los {@code FAILED} pasada una
+ * retención más larga, para poder revisarlos antes; así la tabla queda acotada a los cambios recientes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class Auth0OutboxService {
+
+    private static final List<Status> DISPATCHABLE = List.of(Status.PENDING, Status.PROCESSING);
+
+    private final Auth0OutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final Auth0UserService auth0UserService;
+    private final Auth0RoleService auth0RoleService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth0.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${auth0.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${auth0.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${auth0.outbox.retry-backoff:PT5S}")
+    private Duration retryBackoff;
+
+    @Value("${auth0.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Value("${auth0.outbox.failed-retention:P30D}")
+    private Duration failedRetention;
+
+    /**
+     * Registra un cambio a propagar a Auth0. Debe llamarse dentro de la transacción que modifica la entidad local.
+     *
+     * @param operation Operación a sincronizar.
+     * @param targetAuth0Id ID en Auth0 del usuario o rol afectado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(Operation operation, String targetAuth0Id) {
+        outboxRepository.save(Auth0OutboxEvent.builder()
+                .operation(operation)
+                .targetAuth0Id(targetAuth0Id)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Registra el mismo cambio para varios destinos, reservados durante {@code hold} para quien los registra: el
+     * llamador sincroniza con Auth0 por su cuenta y luego los da por hechos con {@link #complete} o los libera al
+     * despachador con {@link #release}. Si el nodo cae antes, el despachador los toma al vencer la reserva. Debe
+     * llamarse dentro de la transacción que modifica las entidades locales.
+     *
+     * @return Los eventos registrados, con su id.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Auth0OutboxEvent> enqueueAll(Operation operation, Collection<String> targetAuth0Ids, Duration hold) {
+        LocalDateTime holdUntil = LocalDateTime.now().plus(hold);
+        return outboxRepository.saveAll(targetAuth0Ids.stream()
+                .map(targetAuth0Id -> Auth0OutboxEvent.builder()
+                        .operation(operation)
+                        .targetAuth0Id(targetAuth0Id)
+                        .nextAttemptAt(holdUntil)
+                        .build())
+                .toList());
+    }
+
+    /**
+     * Marca como hechos eventos reservados con {@link #enqueueAll} que el llamador ya sincronizó.
+     */
+    public void complete(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markDone(ids, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Libera eventos reservados con {@link #enqueueAll} para que el despachador los reintente enseguida.
+     */
+    public void release(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.release(ids, LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Despacha lotes de eventos vencidos hasta vaciar la cola.
+     *
+     * @return Cantidad de eventos procesados.
+     */
+    public int dispatchPending() {
+        int processed = 0;
+        List<Auth0OutboxEvent> batch;
+        do {
+            String token = UUID.randomUUID().toString();
+            batch = transactionTemplate.execute(status -> claimBatch(token));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+
+            for (Auth0OutboxEvent event : batch) {
+                if (!renewLease(event, token)) {
+                    log.warn("Evento de outbox {} retomado por otro nodo, se omite", event.getId());
+                    continue;
+                }
+                dispatch(event);
+                recordResult(event, token);
+                processed++;
+            }
+
+        } while (batch.size() == batchSize);
+
+        return processed;
+    }
+
+    /**
+     * Elimina los eventos procesados que superaron su retención.
+     *
+     * @return Cantidad de eventos eliminados.
+     */
+    public int purgeProcessed() {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status ->
+                outboxRepository.deleteByStatusUpdatedBefore(Status.DONE, now.minus(retention))
+                        + outboxRepository.deleteByStatusUpdatedBefore(Status.FAILED, now.minus(failedRetention)));
+    }
+
+    /**
+     * Toma un lote de eventos vencidos y los marca en proceso durante el lease, para que ningún otro nodo los tome.
+     * Si el nodo cae, al vencer el lease vuelven a estar disponibles.
+     */
+    private List<Auth0OutboxEvent> claimBatch(String token) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Auth0OutboxEvent> due = outboxRepository.findDueForUpdate(DISPATCHABLE, now, PageRequest.of(0, batchSize));
+        for (Auth0OutboxEvent event : due) {
+            event.setStatus(Status.PROCESSING);
+            event.setNextAttemptAt(now.plus(lease));
+            event.setLeaseToken(token);
+        }
+        return due;
+    }
+
+    /**
+     * Extiende el lease del evento antes de despacharlo: los anteriores del lote pudieron consumir el original.
+     *
+     * @return {@code false} si otro nodo ya lo retomó.
+     */
+    private boolean renewLease(Auth0OutboxEvent event, String token) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status ->
+                outboxRepository.renewLease(event.getId(), token, now.plus(lease), now)) > 0;
+    }
+
+    /**
+     * Escribe el resultado del despacho solo si el evento sigue tomado con este token.
+     */
+    private void recordResult(Auth0OutboxEvent event, String token) {
+        int updated = transactionTemplate.execute(status -> outboxRepository.recordResult(event.getId(), token,
+                event.getStatus(), event.getAttempts(), event.getNextAttemptAt(), event.getProcessedAt(),
+                event.getLastError(), LocalDateTime.now()));
+        if (updated == 0) {
+            log.warn("Evento de outbox {} retomado por otro nodo durante el despacho, se descarta su resultado", event.getId());
+        }
+    }
+
+    private void dispatch(Auth0OutboxEvent event) {
+        try {
+            switch (event.getOperation()) {
+                case SYNC_USER_STATUS -> syncUserStatus(event.getTargetAuth0Id());
+                case SYNC_ROLE -> syncRole(event.getTargetAuth0Id());
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            event.setStatus(Status.DONE);
+            event.setProcessedAt(now);
+            event.setLastError(null);
+
+            meterRegistry.counter("auth0.outbox.events", "outcome", "success").increment();
+            if (event.getCreatedAt() != null) {
+                meterRegistry.timer("auth0.outbox.lag").record(Duration.between(event.getCreatedAt(), now));
+            }
+
+        } catch (Auth0Exception | RuntimeException e) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            event.setLastError(truncate(e.getMessage()));
+
+            if (attempts >= maxAttempts) {
+                log.error("Evento de outbox {} ({}) descartado tras {} intentos", event.getId(), event.getOperation(), attempts, e);
+                event.setStatus(Status.FAILED);
+                meterRegistry.counter("auth0.outbox.events", "outcome", "failed").increment();
+            } else {
+                Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 10));
+                log.warn("Error despachando evento de outbox {} ({}), reintento {} en {}", event.getId(), event.getOperation(), attempts, backoff, e);
+                event.setStatus(Status.PENDING);
+                event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+                meterRegistry.counter("auth0.outbox.events", "outcome", "retry").increment();
+            }
+        }
+    }
+
+    private void syncUserStatus(String auth0Id) throws Auth0Exception {
+        User user = userRepository.findByAuth0Id(auth0Id).orElse(null);
+        if (user == null) {
+            log.warn("Usuario con id en Auth0 '{}' ya no existe localmente, se omite la sincronización", auth0Id);
+            return;
+        }
+
+        if (user.getActive()) {
+            auth0UserService.activateUser(auth0Id);
+        } else {
+            auth0UserService.deactivateUser(auth0Id);
+        }
+    }
+
+    private void syncRole(String auth0Id) throws Auth0Exception {
+        Role role = roleRepository.findByAuth0Id(auth0Id).orElse(null);
+        if (role == null) {
+            log.warn("Rol con id en Auth0 '{}' ya no existe localmente, se omite la sincronización", auth0Id);
+            return;
+        }
+
+        auth0RoleService.updateRol(auth0Id, role.getName(), role.getDescription());
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 1000) {
+            return message;
+        }
+        return message.substring(0, 1000);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.event.RolesChangedEvent;
+import com.example.auth0springbootstarter.event.UserChangedEvent;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de las respuestas de {@code /users/me}, indexada por auth0Id.
+ * <p>
+ * Se invalida con los eventos {@link UserChangedEvent} y {@link RolesChangedEvent} una vez confirmada la
+ * transacción que los publicó. Cada entrada guarda la versión de la fila del usuario, que es lo que usa la
+ * sincronización entre nodos para descartar solo las entradas desactualizadas.
+ */
+@Component
+public class CurrentUserCache {
+
+    static final String CACHE_NAME = "users.me";
+
+    private final Cache<String, CachedUser> cache;
+
+    // cuenta invalidaciones: una carga que se solapó con una invalidación no debe quedar en la caché
+    private final AtomicLong generation = new AtomicLong();
+
+    public CurrentUserCache(@Value("${users.me.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${users.me.cache.ttl:PT10M}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public UserResponse get(String auth0Id) {
+        CachedUser cached = cache.getIfPresent(auth0Id);
+        return cached != null ? cached.response() : null;
+    }
+
+    /**
+     * Marca de invalidaciones a tomar antes de leer de la base de datos y pasar luego a {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String auth0Id, UserResponse response, Long version, long loadedAtGeneration) {
+        cache.put(auth0Id, new CachedUser(response, version));
+        if (generation.get() != loadedAtGeneration) {
+            // hubo una invalidación mientras se leía: el valor puede estar desactualizado
+            cache.invalidate(auth0Id);
+        }
+    }
+
+    public void invalidate(String auth0Id) {
+        generation.incrementAndGet();
+        cache.invalidate(auth0Id);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Invalida la entrada solo si fue cargada con una versión distinta de la actual en la base de datos.
+     */
+    public void invalidateIfStale(String auth0Id, Long currentVersion) {
+        CachedUser cached = cache.getIfPresent(auth0Id);
+        if (cached != null && !Objects.equals(cached.version(), currentVersion)) {
+            invalidate(auth0Id);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.auth0Id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        invalidateAll();
+    }
+
+    private record CachedUser(UserResponse response, Long version) {
+    }
+}
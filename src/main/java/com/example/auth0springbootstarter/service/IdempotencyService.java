@@ -0,0 +1,264 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.exception.BadRequestException;
+import com.example.auth0springbootstarter.exception.BusinessException;
+import com.example.auth0springbootstarter.persistence.entity.IdempotencyKey;
+import com.example.auth0springbootstarter.persistence.entity.IdempotencyKey.Status;
+import com.example.auth0springbootstarter.persistence.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ejecución idempotente de solicitudes según el encabezado {@code Idempotency-Key}.
+ * <p>
+ * El primer intento con una clave la inserta en {@code idempotency_key} como {@code IN_PROGRESS} y, al terminar
+ * bien, guarda la respuesta. Los reintentos con la misma clave reciben la respuesta guardada sin repetir la
+ * operación. Un duplicado que llega mientras el primer intento sigue en curso comparte su resultado si llegó al
+ * mismo nodo; si llegó a otro, se rechaza en el momento con 409 en lugar de ocupar un hilo esperando. Si el
+ * intento falla, la clave se libera para que el cliente pueda reintentar. Mientras el intento sigue en curso su
+ * nodo renueva el bloqueo de la clave, así que otro nodo solo la retoma si ese nodo dejó de renovarlo (cayó) por
+ * más de {@code idempotency.lock-timeout}, y nunca mientras la operación puede seguir ejecutándose. Las claves vencen tras {@code idempotency.ttl}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // inserciones simultáneas de la misma clave que se toleran antes de rendirse
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:P1D}")
+    private Duration ttl;
+
+    @Value("${idempotency.lock-timeout:PT1M}")
+    private Duration lockTimeout;
+
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private record InFlight(String fingerprint, CompletableFuture<Object> result) {
+    }
+
+    /**
+     * Resultado de intentar tomar una clave: el id de la fila insertada, o la fila de otro intento.
+     */
+    private record Claim(Long id, IdempotencyKey existing) {
+    }
+
+    /**
+     * Ejecuta la acción una sola vez por clave.
+     *
+     * @param scope Alcance de la clave, por ejemplo el endpoint y el usuario autenticado.
+     * @param key Valor del encabezado {@code Idempotency-Key}; si es {@code null} la acción se ejecuta sin más.
+     * @param request Cuerpo de la solicitud; reutilizar la clave con otro cuerpo es un error.
+     * @param responseType Tipo de la respuesta, para leerla de la base de datos en los reintentos.
+     * @param action Operación a ejecutar.
+     * @return La respuesta de la operación, o la guardada si la clave ya se completó.
+     */
+    public <T> CompletableFuture<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                            Supplier<CompletableFuture<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("El encabezado Idempotency-Key debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+
+        String keyHash = sha256(scope + "\n" + key);
+        String fingerprint = sha256(toJson(request));
+
+        InFlight own = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight pending = inFlight.putIfAbsent(keyHash, own);
+        if (pending != null) {
+            verifyFingerprint(pending.fingerprint(), fingerprint);
+            return pending.result().thenApply(responseType::cast);
+        }
+
+        CompletableFuture<T> result;
+        try {
+            Claim claim = claim(keyHash, fingerprint);
+            result = (claim.id() != null)
+                    ? run(claim.id(), action)
+                    : CompletableFuture.completedFuture(fromJson(claim.existing().getResponse(), responseType));
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+
+        return result.whenComplete((response, error) -> {
+            inFlight.remove(keyHash, own);
+            if (error != null) {
+                own.result().completeExceptionally(error);
+            } else {
+                own.result().complete(response);
+            }
+        });
+    }
+
+    /**
+     * Elimina las claves vencidas.
+     *
+     * @return Cantidad de claves eliminadas.
+     */
+    public int purgeExpired() {
+        return transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    /**
+     * Toma la clave o devuelve la fila completada de otro intento.
+     *
+     * @throws BusinessException Si otro intento con la misma clave sigue en curso.
+     */
+    private Claim claim(String keyHash, String fingerprint) {
+        for (int attempt = 1; ; attempt++) {
+            Claim claim;
+            try {
+                claim = transactionTemplate.execute(status -> findOrInsert(keyHash, fingerprint));
+            } catch (DataIntegrityViolationException e) {
+                // otro nodo insertó la misma clave al mismo tiempo: se vuelve a leer
+                if (attempt >= MAX_CLAIM_ATTEMPTS) {
+                    throw new BusinessException("Hay una solicitud en curso con la misma clave de idempotencia, reintente más tarde");
+                }
+                continue;
+            }
+
+            if (claim.id() != null) {
+                return claim;
+            }
+            verifyFingerprint(claim.existing().getFingerprint(), fingerprint);
+            if (claim.existing().getStatus() == Status.COMPLETED) {
+                log.info("Solicitud repetida con una clave de idempotencia ya completada, se devuelve la respuesta guardada");
+                return claim;
+            }
+            throw new BusinessException("Hay una solicitud en curso con la misma clave de idempotencia, reintente más tarde");
+        }
+    }
+
+    private Claim findOrInsert(String keyHash, String fingerprint) {
+        LocalDateTime now = LocalDateTime.now();
+
+        IdempotencyKey existing = idempotencyKeyRepository.findByKeyHash(keyHash).orElse(null);
+        if (existing != null) {
+            boolean abandoned = existing.getStatus() == Status.IN_PROGRESS && !existing.getLockedUntil().isAfter(now);
+            if (existing.getExpiresAt().isAfter(now) && !abandoned) {
+                return new Claim(null, existing);
+            }
+            // vencida, o de un intento cuyo nodo cayó: se borra en el momento para poder insertarla de nuevo
+            idempotencyKeyRepository.deleteKey(existing.getId());
+        }
+
+        IdempotencyKey created = idempotencyKeyRepository.saveAndFlush(IdempotencyKey.builder()
+                .keyHash(keyHash)
+                .fingerprint(fingerprint)
+                .status(Status.IN_PROGRESS)
+                .lockedUntil(now.plus(lockTimeout))
+                .expiresAt(now.plus(ttl))
+                .build());
+        return new Claim(created.getId(), null);
+    }
+
+    private <T> CompletableFuture<T> run(Long id, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        keepLocked(id, result);
+
+        return result.whenComplete((response, error) -> {
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (error != null) {
+                        idempotencyKeyRepository.deleteKey(id);
+                    } else {
+                        idempotencyKeyRepository.complete(id, toJson(response), now.plus(ttl), now);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // la clave queda en curso hasta que venza lockTimeout y otro intento la retome
+                log.error("Error guardando el resultado de la clave de idempotencia {}", id, e);
+            }
+        });
+    }
+
+    /**
+     * Renueva el bloqueo de la clave cada tercio de {@code lockTimeout} hasta que termine la operación.
+     */
+    private void keepLocked(Long id, CompletableFuture<?> result) {
+        if (result.isDone()) {
+            return;
+        }
+        Executor delayed = CompletableFuture.delayedExecutor(lockTimeout.toMillis() / 3, TimeUnit.MILLISECONDS);
+        CompletableFuture.runAsync(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                int renewed = transactionTemplate.execute(status -> idempotencyKeyRepository.renewLock(id, now.plus(lockTimeout), now));
+                if (renewed == 0) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // se reintenta en la próxima vuelta, antes de que venza el bloqueo
+                log.warn("Error renovando el bloqueo de la clave de idempotencia {}", id, e);
+            }
+            keepLocked(id, result);
+        }, delayed);
+    }
+
+    private static void verifyFingerprint(String stored, String fingerprint) {
+        if (!stored.equals(fingerprint)) {
+            throw new BadRequestException("La clave de idempotencia ya se usó con una solicitud distinta");
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el valor a JSON", e);
+        }
+    }
+
+    private <T> T fromJson(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta guardada para la clave de idempotencia", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
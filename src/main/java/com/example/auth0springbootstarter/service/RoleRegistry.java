@@ -0,0 +1,89 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.persistence.entity.Role;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Instantánea inmutable de los roles locales, indexada por nombre (en mayúsculas), id y auth0Id.
+ * <p>
+ * Guarda sus propias copias de los roles y entrega una copia nueva en cada búsqueda, de modo que quien la reciba
+ * puede modificarla sin alterar la instantánea compartida.
+ */
+final class RoleRegistry {
+
+    static final RoleRegistry EMPTY = of(List.of());
+
+    private final Map<String, Role> byName;
+    private final Map<Long, Role> byId;
+    private final Map<String, Role> byAuth0Id;
+    private final List<Role> all;
+
+    private RoleRegistry(Map<String, Role> byName, Map<Long, Role> byId, Map<String, Role> byAuth0Id, List<Role> all) {
+        this.byName = byName;
+        this.byId = byId;
+        this.byAuth0Id = byAuth0Id;
+        this.all = all;
+    }
+
+    static RoleRegistry of(Collection<Role> roles) {
+        Map<String, Role> byName = new HashMap<>();
+        Map<Long, Role> byId = new HashMap<>();
+        Map<String, Role> byAuth0Id = new HashMap<>();
+
+        List<Role> all = roles.stream()
+                .map(RoleRegistry::copy)
+                .sorted(Comparator.comparing(Role::getId))
+                .toList();
+        for (Role role : all) {
+            byName.put(normalize(role.getName()), role);
+            byId.put(role.getId(), role);
+            byAuth0Id.put(role.getAuth0Id(), role);
+        }
+
+        return new RoleRegistry(Map.copyOf(byName), Map.copyOf(byId), Map.copyOf(byAuth0Id), all);
+    }
+
+    Optional<Role> findByName(String name) {
+        return Optional.ofNullable(byName.get(normalize(name))).map(RoleRegistry::copy);
+    }
+
+    Optional<Role> findById(Long id) {
+        return Optional.ofNullable(byId.get(id)).map(RoleRegistry::copy);
+    }
+
+    Optional<Role> findByAuth0Id(String auth0Id) {
+        return Optional.ofNullable(byAuth0Id.get(auth0Id)).map(RoleRegistry::copy);
+    }
+
+    List<Role> findAll() {
+        return all.stream().map(RoleRegistry::copy).toList();
+    }
+
+    int size() {
+        return all.size();
+    }
+
+    private static String normalize(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    private static Role copy(Role role) {
+        Role copy = Role.builder()
+                .id(role.getId())
+                .auth0Id(role.getAuth0Id())
+                .name(role.getName())
+                .description(role.getDescription())
+                .active(role.getActive())
+                .build();
+        copy.setCreatedAt(role.getCreatedAt());
+        copy.setUpdatedAt(role.getUpdatedAt());
+        return copy;
+    }
+}
@@ -1,25 +1,40 @@
 package com.example.auth0springbootstarter.service;
 
 import com.auth0.exception.Auth0Exception;
+import com.example.auth0springbootstarter.event.RolesChangedEvent;
 import com.example.auth0springbootstarter.exception.ForbiddenOperationException;
 import com.example.auth0springbootstarter.exception.ResourceNotFoundException;
 import com.example.auth0springbootstarter.mapper.RoleMapper;
 import com.example.auth0springbootstarter.persistence.dto.role.RoleRequest;
 import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
 import com.example.auth0springbootstarter.persistence.dto.role.RoleUpdateRequest;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Operation;
 import com.example.auth0springbootstarter.persistence.entity.Role;
 import com.example.auth0springbootstarter.persistence.repository.RoleRepository;
 import com.example.auth0springbootstarter.service.auth0.Auth0RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.example.auth0springbootstarter.utils.Constants.ADMIN_ROLE_NAME;
-import static com.example.auth0springbootstarter.utils.Constants.USER_ROLe_NAME;
-
+import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
+
+/**
+ * Gestión de los roles locales.
+ * <p>
+ * Las búsquedas se resuelven contra un {@link RoleRegistry} inmutable que se carga al iniciar la aplicación y se
+ * reemplaza completo cuando se confirma un alta o modificación de roles (y periódicamente, para recoger los
+ * cambios hechos desde otros nodos), así que resolver un rol no consulta la base de datos.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -28,34 +43,36 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
     private final Auth0RoleService auth0RoleService;
+    private final Auth0OutboxService auth0OutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<RoleRegistry> registry = new AtomicReference<>();
 
     @Transactional
     public RoleResponse save(RoleRequest dto) throws Auth0Exception {
         return createRoleIfNotExists(dto.getName(), dto.getDescription());
     }
 
-    @Transactional(readOnly = true)
     public RoleResponse findById(Long id) {
         Role role = getRoleByIdOrThrow(id, false);
         return roleMapper.toResponse(role);
     }
 
-    @Transactional(readOnly = true)
     public RoleResponse findByName(String name) {
         Role role = getRoleByNameOrThrow(name, false);
         return roleMapper.toResponse(role);
     }
 
-    @Transactional(readOnly = true)
     public List<RoleResponse> findAll() {
-        return roleRepository.findAll().stream()
+        return registry().findAll().stream()
                 .map(roleMapper::toResponse)
                 .toList();
     }
 
     @Transactional
-    public RoleResponse update(Long id, RoleUpdateRequest dto) throws Auth0Exception {
-        Role role = getRoleByIdOrThrow(id, false);
+    public RoleResponse update(Long id, RoleUpdateRequest dto) {
+        Role role = roleRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Rol con el id '" + id + "' no encontrado"));
 
         boolean nameChanged = dto.getName() != null && !dto.getName().equalsIgnoreCase(role.getName());
         boolean descriptionChanged = dto.getDescription() != null && !dto.getDescription().equals(role.getDescription());
@@ -63,11 +80,11 @@ public class RoleService {
 
         if (nameChanged) {
 
-            if ((role.getName().equals(USER_ROLe_NAME)) || (role.getName().equals(ADMIN_ROLE_NAME))) {
+            if ((role.getName().equals(USER_ROLE_NAME)) || (role.getName().equals(ADMIN_ROLE_NAME))) {
                 throw new ForbiddenOperationException("No es posible editar el nombre del rol '" + role.getName() + "' porque es un rol por defecto");
             }
 
-            roleRepository.findByNameIgnoreCase(dto.getName()).ifPresent(existing -> {
+            registry().findByName(dto.getName()).ifPresent(existing -> {
                 if (!existing.getId().equals(role.getId())) {
                     throw new IllegalArgumentException("Ya existe un rol con el nombre '" + dto.getName() + "'.");
                 }
@@ -84,16 +101,55 @@ public class RoleService {
         }
 
         if (nameChanged || descriptionChanged) {
-            auth0RoleService.updateRol(role.getAuth0Id(), role.getName(), role.getDescription());
+            auth0OutboxService.enqueue(Operation.SYNC_ROLE, role.getAuth0Id());
+        }
+
+        if (nameChanged || descriptionChanged || activeChanged) {
+            eventPublisher.publishEvent(new RolesChangedEvent());
         }
 
         return roleMapper.toResponse(role);
     }
 
+    // Registro en memoria
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRegistry() {
+        RoleRegistry loaded = RoleRegistry.of(roleRepository.findAll());
+        registry.set(loaded);
+        log.info("Registro de roles cargado con {} roles", loaded.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        loadRegistry();
+    }
+
+    @Scheduled(fixedDelayString = "${roles.registry.refresh-interval:PT1M}")
+    public void scheduledRefresh() {
+        try {
+            loadRegistry();
+        } catch (RuntimeException e) {
+            log.error("Error recargando el registro de roles, se conserva la versión anterior", e);
+        }
+    }
+
+    private RoleRegistry registry() {
+        RoleRegistry current = registry.get();
+        if (current == null) {
+            loadRegistry();
+            current = registry.get();
+        }
+        return current;
+    }
+
     // Métodos auxiliares
-    @Transactional
+
+    /**
+     * Resuelve un rol desde el registro en memoria. Devuelve una copia desacoplada con todos sus datos: sirve para
+     * leerlos y para asignarla como rol de un usuario nuevo, ya que al persistirlo solo se escribe su id.
+     */
     public Role getRoleByIdOrThrow(Long id, boolean verifyActive) {
-        Role role = roleRepository.findById(id)
+        Role role = registry().findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Rol con el id '" + id + "' no encontrado"));
 
         if (verifyActive && !role.getActive()) {
@@ -103,10 +159,12 @@ public class RoleService {
         return role;
     }
 
-    @Transactional
+    /**
+     * Igual que {@link #getRoleByIdOrThrow}, buscando por nombre sin distinguir mayúsculas de minúsculas.
+     */
     public Role getRoleByNameOrThrow(String name, boolean verifyActive) {
-        Role role = roleRepository.findByNameIgnoreCase(name)
-                .orElseThrow(() -> new ResourceNotFoundException("Rol con el nombre '" + "' no encontrado"));
+        Role role = registry().findByName(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Rol con el nombre '" + name + "' no encontrado"));
 
         if (verifyActive && !role.getActive()) {
             throw new ResourceNotFoundException("Rol el nombre '" + name + "' inactivo");
@@ -115,6 +173,15 @@ public class RoleService {
         return role;
     }
 
+    /**
+     * Devuelve una referencia gestionada al rol, sin consultar la base de datos, para usarla en asociaciones o
+     * como parámetro de consultas. El rol se valida contra el registro en memoria.
+     */
+    public Role getRoleReferenceByNameOrThrow(String name, boolean verifyActive) {
+        Role role = getRoleByNameOrThrow(name, verifyActive);
+        return roleRepository.getReferenceById(role.getId());
+    }
+
     private RoleResponse createRoleIfNotExists(String name, String description) throws Auth0Exception {
         Role existingRole = roleRepository.findByNameIgnoreCase(name).orElse(null);
 
@@ -132,6 +199,7 @@ public class RoleService {
                 existingRole.setDescription(auth0Role.getDescription());
 
                 log.info("Rol '{}' creado en Auth0 y actualizado en la base de datos.", name);
+                eventPublisher.publishEvent(new RolesChangedEvent());
                 return roleMapper.toResponse(roleRepository.save(existingRole));
             }
         }
@@ -146,6 +214,7 @@ public class RoleService {
                 .build();
 
         log.info("Rol '{}' creado exitosamente en Auth0 y base de datos", name);
+        eventPublisher.publishEvent(new RolesChangedEvent());
         return roleMapper.toResponse(roleRepository.save(role));
     }
 }
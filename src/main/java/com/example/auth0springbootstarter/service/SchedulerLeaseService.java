@@ -0,0 +1,101 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.persistence.entity.SchedulerLease;
+import com.example.auth0springbootstarter.persistence.repository.SchedulerLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leases respaldados en la base de datos para tareas programadas que deben correr en un único nodo.
+ * <p>
+ * Un nodo toma el lease si está libre o vencido y lo renueva mientras avanza, guardando en la misma escritura su
+ * checkpoint. Si el nodo cae, el lease vence y el siguiente que lo tome retoma desde el último checkpoint.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String owner = hostName() + ":" + UUID.randomUUID();
+
+    /**
+     * Intenta tomar el lease de una tarea.
+     *
+     * @param name Nombre de la tarea.
+     * @param duration Duración del lease; debe renovarse antes de que venza.
+     * @return El checkpoint guardado si se tomó el lease ({@code Optional.of("")} si no hay ninguno), o vacío si
+     * otro nodo lo tiene.
+     */
+    public Optional<String> tryAcquire(String name, Duration duration) {
+        ensureExists(name);
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            return leaseRepository.findClaimableForUpdate(name, owner, now)
+                    .map(lease -> {
+                        lease.setOwner(owner);
+                        lease.setLeaseUntil(now.plus(duration));
+                        return lease.getCheckpoint() != null ? lease.getCheckpoint() : "";
+                    });
+        });
+    }
+
+    /**
+     * Renueva el lease y guarda el checkpoint. Se ejecuta en la transacción del llamador, así el checkpoint se
+     * confirma junto con el trabajo que representa.
+     *
+     * @param name Nombre de la tarea.
+     * @param checkpoint Punto de avance, o {@code null} para borrarlo.
+     * @param duration Nueva duración del lease.
+     * @throws IllegalStateException Si este nodo ya no tiene el lease.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void renew(String name, String checkpoint, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        if (leaseRepository.renew(name, owner, checkpoint, now, now.plus(duration)) == 0) {
+            throw new IllegalStateException("Se perdió el lease de la tarea '" + name + "'");
+        }
+    }
+
+    /**
+     * Libera el lease conservando el checkpoint.
+     *
+     * @param name Nombre de la tarea.
+     */
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> leaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+
+    private void ensureExists(String name) {
+        if (leaseRepository.existsById(name)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> leaseRepository.saveAndFlush(SchedulerLease.builder().name(name).build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("El lease '{}' ya fue creado por otro nodo", name);
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
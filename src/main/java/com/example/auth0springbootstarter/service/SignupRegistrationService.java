@@ -0,0 +1,145 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.exception.BusinessException;
+import com.example.auth0springbootstarter.exception.ExistingResourceException;
+import com.example.auth0springbootstarter.exception.ResourceNotFoundException;
+import com.example.auth0springbootstarter.mapper.SignupRegistrationMapper;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRegistrationResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
+import com.example.auth0springbootstarter.persistence.entity.SignupRegistration;
+import com.example.auth0springbootstarter.persistence.entity.SignupRegistration.Status;
+import com.example.auth0springbootstarter.persistence.repository.SignupRegistrationRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Altas asíncronas: la solicitud se valida, se registra como {@code PENDING} y se responde enseguida; un worker
+ * de {@code signupExecutor} la completa con {@link UserService#registerFromDto}, que crea el usuario en Auth0, le
+ * asigna el rol, lo guarda localmente y, si algo falla, lo elimina de Auth0. La latencia de la solicitud no
+ * depende de la de Auth0.
+ * <p>
+ * Antes de llamar a Auth0 el worker toma el alta ({@code PENDING} a {@code PROCESSING}); si el barrido ya la
+ * marcó como fallida, la descarta sin crear el usuario. El barrido solo vence altas que nadie tomó a tiempo o
+ * tomas más viejas que el timeout, que por eso debe superar la duración máxima de un alta.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SignupRegistrationService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final SignupRegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final SignupRegistrationMapper registrationMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor signupExecutor;
+
+    @Value("${users.signup.async.timeout:PT5M}")
+    private Duration timeout;
+
+    /**
+     * Registra el alta y la encola para procesarla en segundo plano.
+     *
+     * @param dto Datos del usuario a crear.
+     * @param requestedBy auth0Id de quien solicita el alta.
+     * @return El alta en estado {@code PENDING}.
+     * @throws TaskRejectedException Si la cola de altas está llena.
+     */
+    public SignupRegistrationResponse submit(SignupRequest dto, String requestedBy) {
+        SignupRegistration registration = transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(dto.getEmail())) {
+                throw new ExistingResourceException("El email proporcionado ya está registrado en la base de datos");
+            }
+            if (registrationRepository.existsByEmailAndStatusIn(dto.getEmail(), List.of(Status.PENDING, Status.PROCESSING))) {
+                throw new BusinessException("Ya hay un alta en curso para el email '" + dto.getEmail() + "'");
+            }
+            return registrationRepository.save(SignupRegistration.builder()
+                    .email(dto.getEmail())
+                    .requestedBy(requestedBy)
+                    .build());
+        });
+
+        try {
+            signupExecutor.execute(() -> process(registration.getId(), dto));
+        } catch (TaskRejectedException e) {
+            log.warn("Cola de altas llena, se rechaza el alta de '{}'", dto.getEmail());
+            transactionTemplate.executeWithoutResult(status -> registrationRepository.deleteById(registration.getId()));
+            throw e;
+        }
+
+        log.info("Alta {} de '{}' aceptada", registration.getId(), dto.getEmail());
+        return registrationMapper.toResponse(registration);
+    }
+
+    /**
+     * Devuelve un alta de quien la solicitó; las de otros se informan como inexistentes.
+     *
+     * @param id ID del alta.
+     * @param requestedBy auth0Id de quien consulta.
+     */
+    @Transactional(readOnly = true)
+    public SignupRegistrationResponse findById(Long id, String requestedBy) {
+        SignupRegistration registration = registrationRepository.findByIdAndRequestedBy(id, requestedBy)
+                .orElseThrow(() -> new ResourceNotFoundException("Alta con id " + id + " no encontrada"));
+        return registrationMapper.toResponse(registration);
+    }
+
+    /**
+     * Marca como fallidas las altas que ningún worker tomó dentro del tiempo máximo y las tomadas hace más que
+     * ese tiempo: su nodo cayó antes de terminarlas y, sin la contraseña, no pueden retomarse.
+     *
+     * @return Cantidad de altas marcadas como fallidas.
+     */
+    public int failExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime before = now.minus(timeout);
+        String error = "El alta no se completó a tiempo; debe solicitarse nuevamente";
+        return transactionTemplate.execute(status -> registrationRepository.failPendingCreatedBefore(before, error, now)
+                + registrationRepository.failProcessingClaimedBefore(before, error, now));
+    }
+
+    private void process(Long id, SignupRequest dto) {
+        int claimed = transactionTemplate.execute(status -> registrationRepository.claim(id, LocalDateTime.now()));
+        if (claimed == 0) {
+            log.warn("El alta {} de '{}' ya no estaba pendiente al tomarla, se descarta", id, dto.getEmail());
+            return;
+        }
+
+        try {
+            UserResponse user = userService.registerFromDto(dto).join();
+            finish(id, Status.COMPLETED, user.getId(), null);
+            log.info("Alta {} de '{}' completada", id, dto.getEmail());
+
+        } catch (RuntimeException e) {
+            Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+            log.error("Error procesando el alta {} de '{}'", id, dto.getEmail(), cause);
+            finish(id, Status.FAILED, null, truncate(String.valueOf(cause.getMessage())));
+        }
+    }
+
+    private void finish(Long id, Status status, Long userId, String error) {
+        int updated = transactionTemplate.execute(tx -> registrationRepository.finish(id, status, userId, error, LocalDateTime.now()));
+        if (updated == 0) {
+            log.warn("El alta {} dejó de estar en proceso antes de terminar; el barrido la venció", id);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
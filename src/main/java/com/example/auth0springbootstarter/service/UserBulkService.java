@@ -0,0 +1,228 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.event.UserChangedEvent;
+import com.example.auth0springbootstarter.exception.BadRequestException;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusRequest;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusResult;
+import com.example.auth0springbootstarter.persistence.dto.user.bulk.BulkUserStatusResult.Outcome;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Operation;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserAsyncService;
+import com.example.auth0springbootstarter.utils.AsyncFanOut;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Activación y desactivación masiva de usuarios.
+ * <p>
+ * Los usuarios se cargan en una sola consulta y el cambio local se aplica con un único UPDATE, en la misma
+ * transacción que registra un evento de outbox por usuario, igual que en la activación individual. Los eventos
+ * quedan reservados mientras el flag {@code blocked} se actualiza en Auth0 con a lo sumo
+ * {@code users.bulk.concurrency} llamadas en vuelo (el cliente HTTP además respeta el límite de tasa del tenant):
+ * los de las llamadas exitosas se dan por hechos y los de las fallidas se liberan al despachador, que reintenta
+ * hasta converger. Si el nodo cae a mitad de camino, el despachador los toma al vencer la reserva.
+ * <p>
+ * La sincronización no hereda el plazo del request: corre con su propio plazo, {@code users.bulk.sync-budget}
+ * (menor que la reserva de los eventos), y sigue aunque la respuesta ya se haya enviado. La respuesta espera como
+ * máximo lo que queda del plazo del request; los usuarios que para entonces no se confirmaron en Auth0 se informan
+ * como {@code SYNC_PENDING}, y sus eventos se resuelven cuando termina la sincronización.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserBulkService {
+
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final Auth0UserAsyncService auth0UserAsyncService;
+    private final Auth0OutboxService auth0OutboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRevocationService userRevocationService;
+
+    @Value("${users.bulk.concurrency:8}")
+    private int concurrency;
+
+    @Value("${users.bulk.max-users:10000}")
+    private int maxUsers;
+
+    @Value("${users.bulk.outbox-hold:PT10M}")
+    private Duration outboxHold;
+
+    @Value("${users.bulk.sync-budget:PT5M}")
+    private Duration syncBudget;
+
+    public CompletableFuture<BulkUserStatusResponse> activate(BulkUserStatusRequest dto) {
+        return setActive(dto, true);
+    }
+
+    public CompletableFuture<BulkUserStatusResponse> deactivate(BulkUserStatusRequest dto) {
+        return setActive(dto, false);
+    }
+
+    private CompletableFuture<BulkUserStatusResponse> setActive(BulkUserStatusRequest dto, boolean active) {
+        List<User> users = transactionTemplate.execute(status -> loadUsers(dto));
+
+        List<BulkUserStatusResult> results = new ArrayList<>();
+        if (dto.getIds() != null && !dto.getIds().isEmpty()) {
+            Set<Long> found = users.stream().map(User::getId).collect(Collectors.toSet());
+            new LinkedHashSet<>(dto.getIds()).stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> results.add(result(id, null, Outcome.NOT_FOUND, null)));
+        }
+
+        List<User> toChange = new ArrayList<>();
+        for (User user : users) {
+            if (user.getActive() == active) {
+                results.add(result(user.getId(), user.getEmail(), Outcome.UNCHANGED, null));
+            } else {
+                toChange.add(user);
+            }
+        }
+
+        if (toChange.isEmpty()) {
+            return CompletableFuture.completedFuture(summarize(results));
+        }
+
+        List<String> auth0Ids = toChange.stream().map(User::getAuth0Id).toList();
+        Map<String, Long> eventIds = transactionTemplate.execute(status -> {
+            int updated = userRepository.updateActive(toChange.stream().map(User::getId).toList(), active, LocalDateTime.now());
+            toChange.forEach(user -> eventPublisher.publishEvent(new UserChangedEvent(user.getAuth0Id())));
+            userRevocationService.record(auth0Ids, !active);
+            log.info("{} usuarios {} localmente", updated, active ? "activados" : "desactivados");
+
+            return auth0OutboxService.enqueueAll(Operation.SYNC_USER_STATUS, auth0Ids, outboxHold).stream()
+                    .collect(Collectors.toMap(Auth0OutboxEvent::getTargetAuth0Id, Auth0OutboxEvent::getId));
+        });
+
+        RequestDeadline requestDeadline = RequestDeadline.current();
+        Set<Long> synced = ConcurrentHashMap.newKeySet();
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+
+        CompletableFuture<Void> sync = syncWithAuth0(toChange, active, RequestDeadline.after(syncBudget), synced, errors)
+                .thenRun(() -> {
+                    Map<Boolean, List<Long>> settled = toChange.stream()
+                            .collect(Collectors.partitioningBy(user -> synced.contains(user.getId()),
+                                    Collectors.mapping(user -> eventIds.get(user.getAuth0Id()), Collectors.toList())));
+                    auth0OutboxService.complete(settled.get(true));
+                    auth0OutboxService.release(settled.get(false));
+                    if (!errors.isEmpty()) {
+                        log.warn("{} usuarios no se pudieron sincronizar con Auth0, quedan pendientes en el outbox", errors.size());
+                    }
+                });
+
+        // la respuesta no espera más que el plazo del request; la sincronización sigue con el suyo
+        CompletableFuture<Void> response = sync.copy();
+        if (requestDeadline != null) {
+            response.completeOnTimeout(null, requestDeadline.remainingMillis(), TimeUnit.MILLISECONDS);
+        }
+        return response.thenApply(ignored -> {
+            for (User user : toChange) {
+                if (synced.contains(user.getId())) {
+                    results.add(result(user.getId(), user.getEmail(), Outcome.UPDATED, null));
+                } else {
+                    String error = errors.getOrDefault(user.getId(), "La sincronización con Auth0 sigue en curso");
+                    results.add(result(user.getId(), user.getEmail(), Outcome.SYNC_PENDING, error));
+                }
+            }
+            return summarize(results);
+        });
+    }
+
+    private List<User> loadUsers(BulkUserStatusRequest dto) {
+        List<User> users;
+        if (dto.getIds() != null && !dto.getIds().isEmpty()) {
+            if (dto.getIds().size() > maxUsers) {
+                throw new BadRequestException("No se pueden procesar más de " + maxUsers + " usuarios por solicitud");
+            }
+            users = userRepository.findAllById(dto.getIds());
+        } else {
+            Long roleId = (dto.getRoleName() != null && !dto.getRoleName().isBlank())
+                    ? roleService.getRoleByNameOrThrow(dto.getRoleName(), false).getId()
+                    : null;
+            String emailPattern = (dto.getEmailDomain() != null && !dto.getEmailDomain().isBlank())
+                    ? "%@" + dto.getEmailDomain().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_")
+                    : null;
+            users = userRepository.findByFilter(roleId, emailPattern, Limit.of(maxUsers + 1));
+        }
+
+        if (users.size() > maxUsers) {
+            throw new BadRequestException("El filtro selecciona más de " + maxUsers + " usuarios");
+        }
+        return users;
+    }
+
+    /**
+     * Actualiza el flag {@code blocked} en Auth0 manteniendo como máximo {@code concurrency} llamadas en vuelo,
+     * cada una acotada por {@code deadline} en lugar del plazo del request.
+     *
+     * @param synced Recibe los ids de los usuarios actualizados en Auth0, a medida que se confirman.
+     * @param errors Recibe los errores por id de usuario, a medida que ocurren.
+     */
+    private CompletableFuture<Void> syncWithAuth0(List<User> users, boolean active, RequestDeadline deadline,
+                                                  Set<Long> synced, Map<Long, String> errors) {
+        Function<User, CompletableFuture<?>> call = user -> {
+            try (RequestDeadline.Scope ignored = RequestDeadline.open(deadline)) {
+                CompletableFuture<Void> update = active
+                        ? auth0UserAsyncService.activateUser(user.getAuth0Id())
+                        : auth0UserAsyncService.deactivateUser(user.getAuth0Id());
+                return update.whenComplete((result, error) -> {
+                    if (error == null) {
+                        synced.add(user.getId());
+                    } else {
+                        Throwable cause = AsyncFanOut.unwrap(error);
+                        log.warn("Error sincronizando el estado del usuario '{}' con Auth0", user.getAuth0Id(), cause);
+                        errors.put(user.getId(), String.valueOf(cause.getMessage()));
+                    }
+                });
+            }
+        };
+
+        return AsyncFanOut.run(users, concurrency, call).thenApply(failures -> null);
+    }
+
+    private static BulkUserStatusResult result(Long id, String email, Outcome outcome, String error) {
+        return BulkUserStatusResult.builder()
+                .id(id)
+                .email(email)
+                .outcome(outcome)
+                .error(error)
+                .build();
+    }
+
+    private static BulkUserStatusResponse summarize(List<BulkUserStatusResult> results) {
+        Map<Outcome, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BulkUserStatusResult::getOutcome, Collectors.counting()));
+
+        return BulkUserStatusResponse.builder()
+                .requested(results.size())
+                .updated(counts.getOrDefault(Outcome.UPDATED, 0L).intValue())
+                .unchanged(counts.getOrDefault(Outcome.UNCHANGED, 0L).intValue())
+                .notFound(counts.getOrDefault(Outcome.NOT_FOUND, 0L).intValue())
+                .syncPending(counts.getOrDefault(Outcome.SYNC_PENDING, 0L).intValue())
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.auth0springbootstarter.service;
+
+import com.auth0.exception.APIException;
+import com.example.auth0springbootstarter.event.UserChangedEvent;
+import com.example.auth0springbootstarter.mapper.UserMapper;
+import com.example.auth0springbootstarter.persistence.dto.user.UserDeletionCandidate;
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserAsyncService;
+import com.example.auth0springbootstarter.utils.AsyncFanOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Eliminación programada de usuarios.
+ * <p>
+ * Los usuarios se marcan con una fecha de eliminación y la tarea nocturna lee los vencidos en chunks ordenados
+ * por (fecha, id) y los procesa en lotes de {@code users.deletion.batch-size}: elimina cada lote en Auth0 con a
+ * lo sumo {@code users.deletion.concurrency} llamadas en vuelo, borra localmente con un único DELETE los que se
+ * eliminaron en Auth0 y después renueva el lease y guarda el checkpoint. El lote, y no el chunk, es lo que tiene
+ * que caber en el lease aunque Auth0 limite la tasa de eliminaciones; si aun así el lease se pierde, los
+ * usuarios ya eliminados en Auth0 se borran localmente antes de abandonar la tarea. Solo un nodo ejecuta la
+ * tarea a la vez; si cae, el siguiente retoma desde el último lote confirmado. Los usuarios cuya eliminación en
+ * Auth0 falla siguen marcados y se reintentan en la próxima ejecución.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDeletionService {
+
+    private static final String LEASE_NAME = "user-deletion";
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final UserMapper userMapper;
+    private final Auth0UserAsyncService auth0UserAsyncService;
+    private final SchedulerLeaseService schedulerLeaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRevocationService userRevocationService;
+
+    @Value("${users.deletion.grace-period:P30D}")
+    private Duration gracePeriod;
+
+    @Value("${users.deletion.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${users.deletion.batch-size:100}")
+    private int batchSize;
+
+    @Value("${users.deletion.concurrency:16}")
+    private int concurrency;
+
+    @Value("${users.deletion.lease:PT5M}")
+    private Duration lease;
+
+    /**
+     * Marca un usuario para eliminarlo en la fecha indicada.
+     *
+     * @param id ID del usuario.
+     * @param dueAt Fecha de eliminación, o {@code null} para aplicar el período de gracia configurado.
+     */
+    @Transactional
+    public UserResponse schedule(Long id, LocalDateTime dueAt) {
+        User user = userService.getUserByIdOrThrow(id, false);
+        user.setDeletionScheduledAt(dueAt != null ? dueAt : LocalDateTime.now().plus(gracePeriod));
+        eventPublisher.publishEvent(new UserChangedEvent(user.getAuth0Id()));
+
+        log.info("Usuario con id '{}' ({}) programado para eliminarse el {}", id, user.getEmail(), user.getDeletionScheduledAt());
+        return userMapper.toResponse(user);
+    }
+
+    /**
+     * Quita la marca de eliminación de un usuario.
+     *
+     * @param id ID del usuario.
+     */
+    @Transactional
+    public UserResponse cancel(Long id) {
+        User user = userService.getUserByIdOrThrow(id, false);
+
+        if (user.getDeletionScheduledAt() == null) {
+            log.info("Usuario con id '{}' ({}) no tiene una eliminación programada, no es necesario realizar otra acción", id, user.getEmail());
+            return userMapper.toResponse(user);
+        }
+
+        user.setDeletionScheduledAt(null);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getAuth0Id()));
+
+        log.info("Eliminación programada del usuario con id '{}' ({}) cancelada", id, user.getEmail());
+        return userMapper.toResponse(user);
+    }
+
+    /**
+     * Elimina los usuarios cuya fecha de eliminación ya venció. No hace nada si otro nodo está ejecutando la tarea.
+     *
+     * @return Cantidad de usuarios eliminados.
+     */
+    public int executeScheduledDeletions() {
+        Optional<String> saved = schedulerLeaseService.tryAcquire(LEASE_NAME, lease);
+        if (saved.isEmpty()) {
+            log.info("Otro nodo está ejecutando la eliminación programada de usuarios");
+            return 0;
+        }
+
+        Checkpoint checkpoint = Checkpoint.parse(saved.get());
+        if (checkpoint == null) {
+            checkpoint = new Checkpoint(LocalDateTime.now(), START, 0L);
+        } else {
+            log.info("Retomando la eliminación programada desde el usuario con id '{}'", checkpoint.afterId());
+        }
+
+        int deleted = 0;
+        int failed = 0;
+        try {
+            while (true) {
+                List<UserDeletionCandidate> chunk = userRepository.findDueForDeletion(
+                        checkpoint.cutoff(), checkpoint.afterDueAt(), checkpoint.afterId(), Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+
+                for (int from = 0; from < chunk.size(); from += batchSize) {
+                    List<UserDeletionCandidate> batch = chunk.subList(from, Math.min(from + batchSize, chunk.size()));
+                    int removed = deleteBatch(batch);
+
+                    UserDeletionCandidate last = batch.getLast();
+                    Checkpoint next = new Checkpoint(checkpoint.cutoff(), last.deletionScheduledAt(), last.id());
+                    transactionTemplate.executeWithoutResult(status -> schedulerLeaseService.renew(LEASE_NAME, next.format(), lease));
+
+                    checkpoint = next;
+                    deleted += removed;
+                    failed += batch.size() - removed;
+                    log.debug("Eliminación programada: lote hasta el id '{}' confirmado ({} eliminados en total)", last.id(), deleted);
+                }
+
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> schedulerLeaseService.renew(LEASE_NAME, null, lease));
+            log.info("Eliminación programada finalizada: {} usuarios eliminados, {} con error", deleted, failed);
+            return deleted;
+
+        } finally {
+            schedulerLeaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Elimina un lote en Auth0 y borra localmente los que ya no existen allí. El borrado local no depende del
+     * lease: los usuarios eliminados en Auth0 se borran aunque la renovación posterior falle.
+     *
+     * @return Cantidad de usuarios eliminados.
+     */
+    private int deleteBatch(List<UserDeletionCandidate> batch) {
+        Map<UserDeletionCandidate, Throwable> errors = AsyncFanOut.run(batch, concurrency,
+                candidate -> auth0UserAsyncService.deleteUser(candidate.auth0Id())).join();
+
+        // un 404 significa que ya no existe en Auth0 (por ejemplo, de una ejecución interrumpida)
+        List<UserDeletionCandidate> removed = batch.stream()
+                .filter(candidate -> !errors.containsKey(candidate) || isNotFound(errors.get(candidate)))
+                .toList();
+        errors.forEach((candidate, error) -> {
+            if (!isNotFound(error)) {
+                log.warn("Error eliminando en Auth0 al usuario '{}', se reintentará en la próxima ejecución", candidate.auth0Id(), error);
+            }
+        });
+
+        if (!removed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.deleteAllByIdIn(removed.stream().map(UserDeletionCandidate::id).toList());
+                removed.forEach(candidate -> eventPublisher.publishEvent(new UserChangedEvent(candidate.auth0Id())));
+                userRevocationService.record(removed.stream().map(UserDeletionCandidate::auth0Id).toList(), true);
+            });
+        }
+        return removed.size();
+    }
+
+    private static boolean isNotFound(Throwable error) {
+        return error instanceof APIException apiException && apiException.getStatusCode() == 404;
+    }
+
+    /**
+     * Avance de una ejecución: la fecha de corte fijada al iniciarla y la clave del último usuario procesado.
+     */
+    private record Checkpoint(LocalDateTime cutoff, LocalDateTime afterDueAt, Long afterId) {
+
+        static Checkpoint parse(String value) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            String[] parts = value.split("\\|");
+            return new Checkpoint(LocalDateTime.parse(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        }
+
+        String format() {
+            return cutoff + "|" + afterDueAt + "|" + afterId;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.config.ExportDataSourceConfig;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportación completa de usuarios en NDJSON o CSV.
+ * <p>
+ * Lee las filas con un cursor JDBC de solo avance y las escribe directamente en el stream de salida a medida que
+ * llegan, sin pasar por entidades ni acumular resultados, así que la memoria usada no depende de la cantidad de
+ * usuarios. En MySQL el cursor del lado del servidor requiere {@code useCursorFetch=true} en la URL; sin él, el
+ * driver trae el resultado completo a memoria. Por eso las consultas van por el pool de
+ * {@link ExportDataSourceConfig}, el único con esa propiedad.
+ */
+@Slf4j
+@Service
+public class UserExportService {
+
+    private static final String[] COLUMNS = {"id", "auth0Id", "email", "name", "active", "role", "createdAt"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoleService roleService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${users.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public UserExportService(@Qualifier("exportJdbcTemplate") JdbcTemplate jdbcTemplate, RoleService roleService,
+                             ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.roleService = roleService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    /**
+     * Escribe los usuarios que cumplen los filtros, ordenados por id.
+     *
+     * @param format Formato de salida.
+     * @param roleName Nombre del rol a filtrar, o {@code null} para todos.
+     * @param active Estado a filtrar, o {@code null} para todos.
+     * @param out Stream de salida; no se cierra.
+     * @return Cantidad de usuarios exportados.
+     * @throws IOException Si falla la escritura en el stream de salida.
+     */
+    public long export(Format format, String roleName, Boolean active, OutputStream out) throws IOException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        if (roleName != null && !roleName.isBlank()) {
+            conditions.add("u.role_id = ?");
+            args.add(roleService.getRoleByNameOrThrow(roleName, false).getId());
+        }
+        if (active != null) {
+            conditions.add("u.active = ?");
+            args.add(active);
+        }
+
+        String sql = "select u.id, u.auth0_id, u.email, u.name, u.active, r.name, u.created_at "
+                + "from user u left join role r on r.id = u.role_id"
+                + (conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions))
+                + " order by u.id";
+
+        RowWriter writer = (format == Format.CSV) ? new CsvRowWriter(out) : new NdjsonRowWriter(objectMapper, out);
+        long[] exported = {0};
+
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < args.size(); i++) {
+                    statement.setObject(i + 1, args.get(i));
+                }
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                    exported[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.finish();
+        log.info("Exportados {} usuarios en formato {}", exported[0], format);
+        return exported[0];
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+        private boolean empty = true;
+
+        NdjsonRowWriter(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS[0], rs.getLong(1));
+            generator.writeStringField(COLUMNS[1], rs.getString(2));
+            generator.writeStringField(COLUMNS[2], rs.getString(3));
+            generator.writeStringField(COLUMNS[3], rs.getString(4));
+            generator.writeBooleanField(COLUMNS[4], rs.getBoolean(5));
+            generator.writeStringField(COLUMNS[5], rs.getString(6));
+            generator.writeStringField(COLUMNS[6], timestamp(rs.getTimestamp(7)));
+            generator.writeEndObject();
+            empty = false;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!empty) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(String.join(",", COLUMNS));
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            writer.write(Long.toString(rs.getLong(1)));
+            writer.write(',');
+            writeField(rs.getString(2));
+            writer.write(',');
+            writeField(rs.getString(3));
+            writer.write(',');
+            writeField(rs.getString(4));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean(5)));
+            writer.write(',');
+            writeField(rs.getString(6));
+            writer.write(',');
+            writeField(timestamp(rs.getTimestamp(7)));
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+    }
+}
@@ -0,0 +1,594 @@
+package com.example.auth0springbootstarter.service;
+
+import com.auth0.exception.Auth0Exception;
+import com.auth0.json.mgmt.jobs.JobError;
+import com.example.auth0springbootstarter.exception.ResourceNotFoundException;
+import com.example.auth0springbootstarter.mapper.UserImportMapper;
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportFailureResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.imports.UserImportResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.UserImportChunk;
+import com.example.auth0springbootstarter.persistence.entity.UserImportJob;
+import com.example.auth0springbootstarter.persistence.entity.UserImportRecord;
+import com.example.auth0springbootstarter.persistence.repository.UserImportChunkRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserImportJobRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserImportRecordRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserImportService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
+
+/**
+ * Importación masiva de usuarios.
+ * <p>
+ * El archivo NDJSON recibido se registra en la base de datos durante la propia solicitud, por chunks y con las
+ * contraseñas ya hasheadas: las contraseñas en texto plano nunca se escriben en disco y la importación no depende
+ * del nodo que recibió el archivo. Luego cualquier nodo la procesa en segundo plano. Cada chunk avanza por etapas
+ * persistidas ({@link UserImportChunk.Status}): se envía a Auth0 como un job de importación, se asignan los roles
+ * en lote y por último se insertan los usuarios locales con batching JDBC. Como cada etapa queda registrada, una
+ * importación interrumpida retoma desde la última etapa confirmada; el {@code user_id} de Auth0 se genera al
+ * registrar el chunk, así que reenviarlo no duplica usuarios.
+ * <p>
+ * Si una importación falla {@code users.import.max-attempts} veces seguidas sin avanzar, queda {@code FAILED}; si
+ * el nodo que la registraba cae, queda {@code FAILED} al vencer el lease.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final List<UserImportJob.Status> CLAIMABLE = List.of(UserImportJob.Status.PENDING, UserImportJob.Status.RUNNING);
+    private static final String AUTH0_ID_PREFIX = "auth0|";
+    private static final String DUPLICATED_USER = "DUPLICATED_USER";
+
+    // IDENTITY impide el batching de inserts de Hibernate, por eso las altas masivas van por JDBC
+    private static final String INSERT_RECORD_SQL = "insert into user_import_record (job_id, chunk_id, line_number, email, "
+            + "name, role_id, auth0_id, password_hash, status, error, created_at, updated_at) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_SQL = "insert into user (name, email, auth0_id, active, role_id, version, "
+            + "created_at, updated_at) values (?, ?, ?, true, ?, 0, ?, ?)";
+
+    private final UserImportJobRepository jobRepository;
+    private final UserImportChunkRepository chunkRepository;
+    private final UserImportRecordRepository recordRepository;
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final Auth0UserImportService auth0UserImportService;
+    private final UserImportMapper userImportMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${users.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${users.import.role-batch-size:100}")
+    private int roleBatchSize;
+
+    @Value("${users.import.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${users.import.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${users.import.retry-delay:PT1M}")
+    private Duration retryDelay;
+
+    @Value("${users.import.max-attempts:5}")
+    private int maxAttempts;
+
+    /**
+     * Registra una importación a partir de un archivo NDJSON con un {@code SignupRequest} por línea. Los registros
+     * se validan y se guardan con las contraseñas hasheadas antes de responder; la importación en Auth0 se realiza
+     * en segundo plano.
+     *
+     * @param file Archivo con los usuarios a importar.
+     * @return Estado inicial de la importación.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public UserImportResponse create(MultipartFile file) throws IOException {
+        auth0UserImportService.requireConnectionId();
+
+        UserImportJob job = transactionTemplate.execute(status -> jobRepository.save(UserImportJob.builder()
+                .fileName(file.getOriginalFilename())
+                .build()));
+
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            ChunkInput input;
+            do {
+                input = readChunk(in, job.getBytesRead(), job.getLinesRead());
+                stageChunk(job, input);
+            } while (!input.exhausted());
+        } catch (IOException | RuntimeException e) {
+            log.error("Error registrando el archivo de la importación {}", job.getId(), e);
+            job.setLastError(truncate(e.getMessage()));
+            fail(job);
+            throw e;
+        }
+
+        job.setStatus(UserImportJob.Status.PENDING);
+        saveJob(job);
+
+        log.info("Importación {} registrada con el archivo '{}': {} registros ({} inválidos)",
+                job.getId(), file.getOriginalFilename(), job.getStagedRecords(), job.getFailedRecords());
+        return userImportMapper.toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public UserImportResponse findById(Long id) {
+        return userImportMapper.toResponse(getJobOrThrow(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserImportFailureResponse> findFailures(Long id, Pageable pageable) {
+        getJobOrThrow(id);
+        return recordRepository.findByJobIdAndStatus(id, UserImportRecord.Status.FAILED, pageable)
+                .map(userImportMapper::toFailureResponse);
+    }
+
+    /**
+     * Avanza las importaciones pendientes que ningún otro nodo esté procesando.
+     *
+     * @return Cantidad de importaciones procesadas.
+     */
+    public int processPending() {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = transactionTemplate.execute(status -> jobRepository.failStaleStaging(now.minus(lease),
+                "El registro del archivo no terminó; la importación debe solicitarse nuevamente", now));
+        if (abandoned > 0) {
+            log.warn("{} importaciones quedaron a medio registrar y se marcaron como fallidas", abandoned);
+        }
+
+        List<UserImportJob> jobs = transactionTemplate.execute(status -> claimJobs());
+        if (jobs == null) {
+            return 0;
+        }
+        for (UserImportJob job : jobs) {
+            process(job);
+        }
+        return jobs.size();
+    }
+
+    private List<UserImportJob> claimJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        List<UserImportJob> jobs = jobRepository.findClaimableForUpdate(CLAIMABLE, now, PageRequest.of(0, 5));
+        for (UserImportJob job : jobs) {
+            job.setStatus(UserImportJob.Status.RUNNING);
+            job.setLeaseUntil(now.plus(lease));
+        }
+        return jobs;
+    }
+
+    private void process(UserImportJob job) {
+        try {
+            while (step(job)) {
+                job.setAttempts(0);
+                job.setLeaseUntil(LocalDateTime.now().plus(lease));
+                saveJob(job);
+            }
+            if (job.getStatus() == UserImportJob.Status.RUNNING) {
+                // esperando a Auth0: se libera para la próxima pasada
+                job.setLeaseUntil(LocalDateTime.now());
+                saveJob(job);
+            }
+        } catch (Auth0Exception | IOException | RuntimeException e) {
+            int attempts = job.getAttempts() + 1;
+            job.setAttempts(attempts);
+            job.setLastError(truncate(e.getMessage()));
+
+            if (attempts >= maxAttempts) {
+                log.error("La importación {} falló {} veces seguidas, se descarta", job.getId(), attempts, e);
+                fail(job);
+            } else {
+                log.error("Error procesando la importación {} (intento {}/{}), se reintentará en {}",
+                        job.getId(), attempts, maxAttempts, retryDelay, e);
+                job.setLeaseUntil(LocalDateTime.now().plus(retryDelay));
+                saveJob(job);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la siguiente etapa de la importación.
+     *
+     * @return {@code true} si hubo avance y se puede continuar; {@code false} si hay que esperar a Auth0 o terminó.
+     */
+    private boolean step(UserImportJob job) throws Auth0Exception, IOException {
+        UserImportChunk chunk = chunkRepository
+                .findFirstByJobIdAndStatusNotOrderByNumberAsc(job.getId(), UserImportChunk.Status.DONE)
+                .orElse(null);
+
+        if (chunk != null) {
+            return switch (chunk.getStatus()) {
+                case STAGED -> submit(chunk);
+                case SUBMITTED -> collect(job, chunk);
+                case IMPORTED -> assignRoles(job, chunk);
+                case ROLES_ASSIGNED -> insertUsers(job, chunk);
+                case DONE -> true;
+            };
+        }
+
+        complete(job);
+        return false;
+    }
+
+    // Etapa 1, durante la solicitud: registrar un chunk del archivo
+    private void stageChunk(UserImportJob job, ChunkInput input) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<StagedLine> staged = new ArrayList<>();
+        List<UserImportRecord> records = new ArrayList<>();
+        Set<String> chunkEmails = new HashSet<>();
+
+        for (Line line : input.lines()) {
+            UserImportRecord record = UserImportRecord.builder()
+                    .jobId(job.getId())
+                    .lineNumber(line.number())
+                    .status(UserImportRecord.Status.STAGED)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            records.add(record);
+
+            SignupRequest request;
+            try {
+                request = objectMapper.readValue(line.text(), SignupRequest.class);
+            } catch (JsonProcessingException e) {
+                fail(record, "Registro con formato inválido: " + e.getOriginalMessage());
+                continue;
+            }
+
+            record.setEmail(request.getEmail());
+            record.setName(request.getName());
+
+            Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                fail(record, violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; ")));
+                continue;
+            }
+            if (!chunkEmails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                fail(record, "El email está repetido en el archivo de importación");
+                continue;
+            }
+
+            record.setRoleId(resolveRole(request.getRoleName()).getId());
+            record.setAuth0Id(AUTH0_ID_PREFIX + UUID.randomUUID().toString().replace("-", ""));
+            staged.add(new StagedLine(record, request.getPassword()));
+        }
+
+        // emails ya registrados localmente o en chunks anteriores de esta importación
+        List<String> emails = staged.stream().map(line -> line.record().getEmail()).toList();
+        if (!emails.isEmpty()) {
+            Set<String> taken = new HashSet<>(userRepository.findExistingEmails(emails));
+            taken.addAll(recordRepository.findEmailsInJob(job.getId(), UserImportRecord.Status.FAILED, emails));
+            staged.removeIf(line -> {
+                if (taken.contains(line.record().getEmail())) {
+                    fail(line.record(), "El email proporcionado ya está registrado");
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // bcrypt es deliberadamente costoso: se reparte entre los núcleos disponibles
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(bcryptStrength);
+        staged.parallelStream().forEach(line -> line.record().setPasswordHash(encoder.encode(line.password())));
+
+        int failed = (int) records.stream().filter(record -> record.getStatus() == UserImportRecord.Status.FAILED).count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!records.isEmpty()) {
+                UserImportChunk chunk = chunkRepository.save(UserImportChunk.builder()
+                        .jobId(job.getId())
+                        .number(chunkRepository.countByJobId(job.getId()) + 1)
+                        .build());
+                records.forEach(record -> record.setChunkId(chunk.getId()));
+                insertRecords(records);
+            }
+
+            job.setBytesRead(input.bytesRead());
+            job.setLinesRead(input.linesRead());
+            job.setInputExhausted(input.exhausted());
+            job.setStagedRecords(job.getStagedRecords() + records.size());
+            job.setFailedRecords(job.getFailedRecords() + failed);
+            jobRepository.save(job);
+        });
+
+        log.debug("Importación {}: {} registros leídos hasta la línea {} ({} inválidos)",
+                job.getId(), records.size(), input.linesRead(), failed);
+    }
+
+    // Etapa 2: enviar el chunk a Auth0 como job de importación
+    private boolean submit(UserImportChunk chunk) throws Auth0Exception {
+        List<UserImportRecord> records = recordRepository.findByChunkIdAndStatus(chunk.getId(), UserImportRecord.Status.STAGED);
+
+        if (records.isEmpty()) {
+            chunk.setStatus(UserImportChunk.Status.IMPORTED);
+        } else {
+            chunk.setAuth0JobId(auth0UserImportService.submitImportJob(records));
+            chunk.setStatus(UserImportChunk.Status.SUBMITTED);
+        }
+        chunkRepository.save(chunk);
+        return true;
+    }
+
+    // Etapa 3: esperar el resultado del job y registrar los errores por usuario
+    private boolean collect(UserImportJob job, UserImportChunk chunk) throws Auth0Exception {
+        String status = auth0UserImportService.getJobStatus(chunk.getAuth0JobId());
+        if ("pending".equals(status) || "processing".equals(status)) {
+            return false;
+        }
+
+        List<UserImportRecord> records = recordRepository.findByChunkIdAndStatus(chunk.getId(), UserImportRecord.Status.STAGED);
+        int failed = 0;
+
+        if ("completed".equals(status)) {
+            Map<String, List<JobError>> errors = auth0UserImportService.getJobErrors(chunk.getAuth0JobId());
+            for (UserImportRecord record : records) {
+                List<JobError> recordErrors = errors.get(record.getEmail().toLowerCase(Locale.ROOT));
+                // cada duplicado se verifica con una consulta a Auth0, que puede demorarse por el rate limit
+                extendLeaseIfDue(job);
+                if (recordErrors == null || isOwnDuplicate(record, recordErrors)) {
+                    record.setStatus(UserImportRecord.Status.CREATED);
+                } else {
+                    fail(record, Auth0UserImportService.describe(recordErrors));
+                    failed++;
+                }
+            }
+        } else {
+            log.error("El job de importación '{}' de Auth0 terminó con estado '{}'", chunk.getAuth0JobId(), status);
+            for (UserImportRecord record : records) {
+                fail(record, "El job de importación de Auth0 terminó con estado '" + status + "'");
+            }
+            failed = records.size();
+        }
+
+        int failedRecords = failed;
+        transactionTemplate.executeWithoutResult(tx -> {
+            recordRepository.saveAll(records);
+            chunk.setStatus(UserImportChunk.Status.IMPORTED);
+            chunkRepository.save(chunk);
+            job.setFailedRecords(job.getFailedRecords() + failedRecords);
+            jobRepository.save(job);
+        });
+        return true;
+    }
+
+    /**
+     * Un {@code DUPLICATED_USER} para un usuario que sí existe con el id generado significa que el chunk ya se
+     * había enviado antes de una caída: el usuario es nuestro y se da por creado.
+     */
+    private boolean isOwnDuplicate(UserImportRecord record, List<JobError> errors) throws Auth0Exception {
+        boolean onlyDuplicates = errors.stream().allMatch(error -> DUPLICATED_USER.equals(error.getCode()));
+        return onlyDuplicates && auth0UserImportService.existsUser(record.getAuth0Id());
+    }
+
+    // Etapa 4: asignar los roles en lote
+    private boolean assignRoles(UserImportJob job, UserImportChunk chunk) throws Auth0Exception {
+        List<UserImportRecord> created = recordRepository.findByChunkIdAndStatus(chunk.getId(), UserImportRecord.Status.CREATED);
+
+        Map<Long, List<String>> usersByRole = created.stream()
+                .collect(Collectors.groupingBy(UserImportRecord::getRoleId,
+                        Collectors.mapping(UserImportRecord::getAuth0Id, Collectors.toList())));
+
+        for (Map.Entry<Long, List<String>> entry : usersByRole.entrySet()) {
+            String auth0RoleId = roleService.getRoleByIdOrThrow(entry.getKey(), false).getAuth0Id();
+            List<String> auth0Ids = entry.getValue();
+            for (int from = 0; from < auth0Ids.size(); from += roleBatchSize) {
+                extendLeaseIfDue(job);
+                auth0UserImportService.assignRole(auth0RoleId, auth0Ids.subList(from, Math.min(from + roleBatchSize, auth0Ids.size())));
+            }
+        }
+
+        chunk.setStatus(UserImportChunk.Status.ROLES_ASSIGNED);
+        chunkRepository.save(chunk);
+        return true;
+    }
+
+    // Etapa 5: crear los usuarios locales
+    private boolean insertUsers(UserImportJob job, UserImportChunk chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<UserImportRecord> created = recordRepository.findByChunkIdAndStatus(chunk.getId(), UserImportRecord.Status.CREATED);
+
+            List<UserImportRecord> toInsert = created;
+            if (!created.isEmpty()) {
+                Set<String> existing = new HashSet<>(userRepository.findExistingAuth0Ids(
+                        created.stream().map(UserImportRecord::getAuth0Id).toList()));
+                toInsert = created.stream().filter(record -> !existing.contains(record.getAuth0Id())).toList();
+            }
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_USER_SQL, toInsert, 500, (ps, record) -> {
+                ps.setString(1, record.getName());
+                ps.setString(2, record.getEmail());
+                ps.setString(3, record.getAuth0Id());
+                ps.setLong(4, record.getRoleId());
+                ps.setTimestamp(5, now);
+                ps.setTimestamp(6, now);
+            });
+
+            for (UserImportRecord record : created) {
+                record.setStatus(UserImportRecord.Status.DONE);
+                record.setPasswordHash(null);
+            }
+            recordRepository.saveAll(created);
+
+            chunk.setStatus(UserImportChunk.Status.DONE);
+            chunkRepository.save(chunk);
+
+            job.setImportedRecords(job.getImportedRecords() + created.size());
+            jobRepository.save(job);
+        });
+
+        log.info("Importación {}: chunk {} completado, {} usuarios importados en total",
+                job.getId(), chunk.getNumber(), job.getImportedRecords());
+        return true;
+    }
+
+    private void complete(UserImportJob job) {
+        job.setStatus(UserImportJob.Status.COMPLETED);
+        job.setCompletedAt(LocalDateTime.now());
+        job.setLeaseUntil(null);
+        job.setLastError(null);
+        saveJob(job);
+
+        log.info("Importación {} completada: {} usuarios importados, {} registros con error",
+                job.getId(), job.getImportedRecords(), job.getFailedRecords());
+    }
+
+    private void fail(UserImportJob job) {
+        job.setStatus(UserImportJob.Status.FAILED);
+        job.setCompletedAt(LocalDateTime.now());
+        job.setLeaseUntil(null);
+        saveJob(job);
+    }
+
+    /**
+     * Extiende el lease de la importación cuando ya pasó la mitad, para que una etapa larga no lo deje vencer y
+     * otro nodo la retome mientras sigue en curso.
+     */
+    private void extendLeaseIfDue(UserImportJob job) {
+        LocalDateTime now = LocalDateTime.now();
+        if (now.isAfter(job.getLeaseUntil().minus(lease.dividedBy(2)))) {
+            job.setLeaseUntil(now.plus(lease));
+            saveJob(job);
+        }
+    }
+
+    private void insertRecords(List<UserImportRecord> records) {
+        jdbcTemplate.batchUpdate(INSERT_RECORD_SQL, records, 500, (ps, record) -> {
+            ps.setLong(1, record.getJobId());
+            ps.setLong(2, record.getChunkId());
+            ps.setLong(3, record.getLineNumber());
+            ps.setString(4, record.getEmail());
+            ps.setString(5, record.getName());
+            if (record.getRoleId() != null) {
+                ps.setLong(6, record.getRoleId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            ps.setString(7, record.getAuth0Id());
+            ps.setString(8, record.getPasswordHash());
+            ps.setString(9, record.getStatus().name());
+            ps.setString(10, record.getError());
+            ps.setTimestamp(11, Timestamp.valueOf(record.getCreatedAt()));
+            ps.setTimestamp(12, Timestamp.valueOf(record.getUpdatedAt()));
+        });
+    }
+
+    /**
+     * Lee hasta {@code chunkSize} líneas no vacías del archivo, a continuación de lo ya registrado.
+     */
+    private ChunkInput readChunk(InputStream in, long offset, long lineNumber) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        boolean exhausted = false;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        while (lines.size() < chunkSize) {
+            int b = in.read();
+            if (b == -1) {
+                exhausted = true;
+                if (buffer.size() > 0) {
+                    lineNumber++;
+                    addLine(lines, lineNumber, buffer);
+                }
+                break;
+            }
+            offset++;
+            if (b == '\n') {
+                lineNumber++;
+                addLine(lines, lineNumber, buffer);
+            } else {
+                buffer.write(b);
+            }
+        }
+
+        return new ChunkInput(lines, offset, lineNumber, exhausted);
+    }
+
+    private static void addLine(List<Line> lines, long lineNumber, ByteArrayOutputStream buffer) {
+        String text = buffer.toString(StandardCharsets.UTF_8).strip();
+        buffer.reset();
+        if (!text.isEmpty()) {
+            lines.add(new Line(lineNumber, text));
+        }
+    }
+
+    private Role resolveRole(String roleName) {
+        if (roleName == null || roleName.isBlank()) {
+            return roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+        }
+        try {
+            return roleService.getRoleByNameOrThrow(roleName, true);
+        } catch (ResourceNotFoundException ex) {
+            return roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+        }
+    }
+
+    private UserImportJob getJobOrThrow(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importación con el id '" + id + "' no encontrada"));
+    }
+
+    private void saveJob(UserImportJob job) {
+        transactionTemplate.executeWithoutResult(status -> jobRepository.save(job));
+    }
+
+    private static void fail(UserImportRecord record, String error) {
+        record.setStatus(UserImportRecord.Status.FAILED);
+        record.setError(truncate(error));
+        record.setPasswordHash(null);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= 1000) {
+            return message;
+        }
+        return message.substring(0, 1000);
+    }
+
+    private record Line(long number, String text) {
+    }
+
+    private record StagedLine(UserImportRecord record, String password) {
+    }
+
+    private record ChunkInput(List<Line> lines, long bytesRead, long linesRead, boolean exhausted) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.auth0springbootstarter.service;
+
+import com.auth0.exception.Auth0Exception;
+import com.example.auth0springbootstarter.event.UserChangedEvent;
+import com.example.auth0springbootstarter.exception.ExistingResourceException;
+import com.example.auth0springbootstarter.exception.UserRegistrationException;
+import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.entity.User.ProvisioningStatus;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
+
+/**
+ * Alta del usuario local en su primer login.
+ * <p>
+ * En el primer login la SPA dispara varios {@code /users/me} en paralelo. Dentro de un nodo, los pedidos
+ * concurrentes para el mismo auth0Id esperan el resultado de una única provisión. Entre nodos, la fila se inserta
+ * primero como {@code PENDING} con el rol por defecto y la restricción única de {@code auth0_id} decide quién la
+ * crea; recién cuando el rol quedó asignado en Auth0 pasa a {@code READY}. Solo se devuelven filas {@code READY}:
+ * quien encuentra una fila {@code PENDING} (la de otro nodo que todavía provisiona, o una que quedó a medias por
+ * un error o una caída) vuelve a ejecutar la provisión, que es idempotente en Auth0.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserProvisioningService {
+
+    private final UserRepository userRepository;
+    private final RoleService roleService;
+    private final Auth0UserService auth0UserService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<String, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Devuelve el usuario con el auth0Id dado, provisionándolo si todavía no existe o si su provisión quedó
+     * pendiente.
+     *
+     * @throws ExistingResourceException Si el email ya está registrado con otro auth0Id.
+     * @throws UserRegistrationException Si falla la asignación del rol en Auth0; la fila queda {@code PENDING}
+     *                                   y el siguiente login retoma la provisión.
+     */
+    public User findOrProvision(String auth0Id, String email, String name) {
+        Optional<User> existing = transactionTemplate.execute(status -> userRepository.findByAuth0Id(auth0Id));
+        if (existing.isPresent() && existing.get().getProvisioningStatus() == ProvisioningStatus.READY) {
+            return existing.get();
+        }
+
+        CompletableFuture<User> created = new CompletableFuture<>();
+        CompletableFuture<User> pending = inFlight.putIfAbsent(auth0Id, created);
+        if (pending != null) {
+            return await(pending);
+        }
+
+        try {
+            User user = provision(auth0Id, email, name);
+            created.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(auth0Id, created);
+        }
+    }
+
+    private User provision(String auth0Id, String email, String name) {
+        Role defaultRole = roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+
+        User user = transactionTemplate.execute(status -> userRepository.findByAuth0Id(auth0Id))
+                .orElseGet(() -> insert(auth0Id, email, name, defaultRole));
+        if (user.getProvisioningStatus() == ProvisioningStatus.READY) {
+            return user;
+        }
+
+        try {
+            // un error al consultar deja la fila PENDING: solo un usuario sin roles recibe el rol por defecto
+            RoleResponse auth0Role = auth0UserService.findUserRole(auth0Id);
+            Role role = (auth0Role != null) ? roleService.getRoleByNameOrThrow(auth0Role.getName(), true) : defaultRole;
+
+            log.info("Asignando rol en Auth0 al usuario '{}'", email);
+            auth0UserService.setUserRole(auth0Id, role.getAuth0Id());
+
+            return markReady(user.getId(), role);
+
+        } catch (Auth0Exception e) {
+            log.error("Error asignando rol en Auth0 al usuario '{}', la provisión se retomará en el próximo login", auth0Id, e);
+            throw new UserRegistrationException("Error asignando rol en Auth0", e);
+        }
+    }
+
+    /**
+     * Inserta la fila {@code PENDING}. Si otro nodo la insertó primero, devuelve la suya.
+     */
+    private User insert(String auth0Id, String email, String name, Role defaultRole) {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (userRepository.existsByEmail(email)) {
+                    throw new ExistingResourceException("El email '" + email + "' ya está registrado con otro método de autenticación");
+                }
+
+                log.info("Guardando usuario '{}' en la base de datos", email);
+                return userRepository.saveAndFlush(User.builder()
+                        .auth0Id(auth0Id)
+                        .name(name)
+                        .email(email)
+                        .role(defaultRole)
+                        .provisioningStatus(ProvisioningStatus.PENDING)
+                        .build());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // otro nodo insertó la fila primero; la violación se informa con su fila ya confirmada
+            return transactionTemplate.execute(status -> userRepository.findByAuth0Id(auth0Id))
+                    .orElseThrow(() -> new ExistingResourceException("El email '" + email + "' ya está registrado con otro método de autenticación"));
+        }
+    }
+
+    /**
+     * Marca la fila como {@code READY} con el rol asignado en Auth0, que reemplaza al rol por defecto con el que
+     * se insertó. Si otro nodo la completó primero, devuelve su versión.
+     */
+    private User markReady(Long id, Role role) {
+        try {
+            return transactionTemplate.execute(status -> {
+                User managed = userRepository.findById(id).orElseThrow();
+                if (managed.getProvisioningStatus() == ProvisioningStatus.READY) {
+                    return managed;
+                }
+                managed.setRole(role);
+                managed.setProvisioningStatus(ProvisioningStatus.READY);
+                eventPublisher.publishEvent(new UserChangedEvent(managed.getAuth0Id()));
+                return managed;
+            });
+        } catch (OptimisticLockingFailureException e) {
+            // otro nodo provisionó la misma fila a la vez y confirmó antes
+            User current = transactionTemplate.execute(status -> userRepository.findById(id).orElseThrow());
+            if (current.getProvisioningStatus() != ProvisioningStatus.READY) {
+                throw e;
+            }
+            return current;
+        }
+    }
+
+    private static User await(CompletableFuture<User> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.config.security.UserRevocationList;
+import com.example.auth0springbootstarter.persistence.entity.UserRevocation;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRevocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene {@link UserRevocationList} sincronizada con la base de datos.
+ * <p>
+ * Los cambios de acceso se registran en {@code user_revocation_log} en la misma transacción que el cambio del
+ * usuario. Al arrancar, cada nodo carga los usuarios inactivos y reproduce el registro dentro de la retención
+ * (para cubrir a los usuarios ya eliminados); después lee periódicamente solo las entradas nuevas. La
+ * retención debe ser mayor que la vida de un access token.
+ * <p>
+ * La lectura incremental avanza por {@code id} y no por {@code created_at}: el reloj de quien inserta no
+ * determina qué entradas se ven. Como los ids IDENTITY se asignan al insertar y no al confirmar, un id menor
+ * puede aparecer después de uno mayor; los ids salteados se recuerdan como huecos y se vuelven a consultar
+ * durante {@code users.revocation.gap-timeout}. Una entrada que llega por un hueco puede estar desordenada
+ * respecto de otras del mismo usuario, así que para esos usuarios se toma el estado actual de la tabla
+ * {@code users} en lugar del de la entrada.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserRevocationService {
+
+    // tope de huecos pendientes, por si la secuencia salta mucho (rollbacks masivos, auto_increment_increment)
+    private static final int MAX_GAPS = 1_000;
+
+    private final UserRevocationRepository revocationRepository;
+    private final UserRepository userRepository;
+    private final UserRevocationList revocationList;
+
+    @Value("${users.revocation.retention:P1D}")
+    private Duration retention;
+
+    @Value("${users.revocation.gap-timeout:PT1M}")
+    private Duration gapTimeout;
+
+    // id más alto leído del registro; null hasta que termina la carga inicial
+    private volatile Long lastSeenId;
+
+    // ids salteados que todavía pueden confirmarse, con el momento en que se detectaron; solo los toca sync()
+    private final Map<Long, Instant> gaps = new ConcurrentHashMap<>();
+
+    /**
+     * Registra que los tokens de los usuarios dejan de aceptarse ({@code revoked = true}) o vuelven a aceptarse.
+     * Debe llamarse dentro de la transacción que modifica a los usuarios.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Collection<String> auth0Ids, boolean revoked) {
+        revocationRepository.saveAll(auth0Ids.stream()
+                .map(auth0Id -> UserRevocation.builder().auth0Id(auth0Id).revoked(revoked).build())
+                .toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String auth0Id, boolean revoked) {
+        record(List.of(auth0Id), revoked);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+
+        Set<String> revoked = new HashSet<>(userRepository.findInactiveAuth0Ids());
+        long watermark = revocationRepository.findMaxId();
+        Set<Long> loaded = new HashSet<>();
+        for (UserRevocation entry : revocationRepository.findByCreatedAtAfterOrderByIdAsc(now.minus(retention))) {
+            loaded.add(entry.getId());
+            apply(revoked, entry.getAuth0Id(), entry.getRevoked());
+        }
+
+        revocationList.replaceAll(revoked);
+
+        // los ids recientes que no se leyeron pueden ser transacciones todavía abiertas: se vigilan como huecos
+        gaps.clear();
+        Instant detectedAt = Instant.now();
+        for (long id = watermark; id > 0 && id > watermark - MAX_GAPS; id--) {
+            if (!loaded.contains(id)) {
+                gaps.put(id, detectedAt);
+            }
+        }
+        lastSeenId = watermark;
+        log.info("Lista de revocación cargada con {} usuarios", revoked.size());
+    }
+
+    /**
+     * Aplica las entradas con id mayor al último leído, en orden, y las que completan huecos anteriores.
+     *
+     * @return Cantidad de entradas leídas.
+     */
+    @Transactional(readOnly = true)
+    public int sync() {
+        Long watermark = lastSeenId;
+        if (watermark == null) {
+            return 0;
+        }
+
+        int read = 0;
+        if (!gaps.isEmpty()) {
+            read += applyLate(revocationRepository.findByIdInOrderByIdAsc(gaps.keySet()));
+        }
+
+        Instant now = Instant.now();
+        List<UserRevocation> entries = revocationRepository.findByIdGreaterThanOrderByIdAsc(watermark);
+        for (UserRevocation entry : entries) {
+            for (long missing = watermark + 1; missing < entry.getId() && gaps.size() < MAX_GAPS; missing++) {
+                gaps.put(missing, now);
+            }
+            watermark = entry.getId();
+            if (entry.getRevoked()) {
+                revocationList.revoke(entry.getAuth0Id());
+            } else {
+                revocationList.restore(entry.getAuth0Id());
+            }
+        }
+        lastSeenId = watermark;
+
+        // un hueco que no se confirmó dentro del timeout fue un rollback o un salto de la secuencia
+        gaps.values().removeIf(detectedAt -> detectedAt.isBefore(now.minus(gapTimeout)));
+        return read + entries.size();
+    }
+
+    /**
+     * Aplica entradas que llegaron por un hueco. Pueden haberse confirmado después de otras posteriores del
+     * mismo usuario, así que se aplica el estado actual del usuario: revocado si está inactivo o ya no existe.
+     */
+    private int applyLate(List<UserRevocation> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> auth0Ids = new HashSet<>();
+        for (UserRevocation entry : entries) {
+            gaps.remove(entry.getId());
+            auth0Ids.add(entry.getAuth0Id());
+        }
+
+        Set<String> active = new HashSet<>(userRepository.findActiveAuth0Ids(auth0Ids));
+        for (String auth0Id : auth0Ids) {
+            if (active.contains(auth0Id)) {
+                revocationList.restore(auth0Id);
+            } else {
+                revocationList.revoke(auth0Id);
+            }
+        }
+        log.debug("Lista de revocación: {} entradas confirmadas fuera de orden", entries.size());
+        return entries.size();
+    }
+
+    private static void apply(Set<String> revoked, String auth0Id, boolean revoke) {
+        if (revoke) {
+            revoked.add(auth0Id);
+        } else {
+            revoked.remove(auth0Id);
+        }
+    }
+
+    /**
+     * Borra las entradas más viejas que la retención.
+     *
+     * @return Cantidad de entradas borradas.
+     */
+    @Transactional
+    public int purgeExpired() {
+        return revocationRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+}
@@ -1,28 +1,40 @@
 package com.example.auth0springbootstarter.service;
 
 import com.auth0.exception.Auth0Exception;
+import com.example.auth0springbootstarter.event.UserChangedEvent;
 import com.example.auth0springbootstarter.exception.ExistingResourceException;
 import com.example.auth0springbootstarter.exception.ResourceNotFoundException;
 import com.example.auth0springbootstarter.exception.UserRegistrationException;
 import com.example.auth0springbootstarter.mapper.UserMapper;
-import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
+import com.example.auth0springbootstarter.persistence.dto.CursorPage;
 import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserSummary;
 import com.example.auth0springbootstarter.persistence.dto.user.UserUpdateRequest;
 import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
 import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupResponse;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Operation;
 import com.example.auth0springbootstarter.persistence.entity.Role;
 import com.example.auth0springbootstarter.persistence.entity.User;
 import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserAsyncService;
 import com.example.auth0springbootstarter.service.auth0.Auth0UserService;
+import com.example.auth0springbootstarter.utils.CursorCodec;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
 
@@ -31,61 +43,53 @@ import static com.example.auth0springbootstarter.utils.Constants.USER_ROLE_NAME;
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final Auth0UserService auth0UserService;
+    private final Auth0UserAsyncService auth0UserAsyncService;
+    private final Auth0OutboxService auth0OutboxService;
     private final RoleService roleService;
-
-    @Transactional
-    public UserResponse registerFromDto(SignupRequest dto) throws Auth0Exception {
-
-        Role role = new Role();
-        String roleName = dto.getRoleName();
-        try {
-            role = (roleName != null && !roleName.isEmpty())
-                    ? roleService.getRoleByNameOrThrow(roleName, true)
-                    : roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
-        } catch (ResourceNotFoundException ex) {
-            log.warn("Rol '{}' no encontrado. Asignando rol por defecto '{}'", roleName, USER_ROLE_NAME);
-        }
-
-        if (userRepository.existsByEmail(dto.getEmail())) {
-            throw new ExistingResourceException("El email proporcionado ya está registrado en la base de datos");
-        }
-
-        SignupResponse signupResponse = auth0UserService.registerUserFromDTO(dto);
-
-        User user = userMapper.toEntity(signupResponse);
-        user.setRole(role);
-
-        try {
-            log.info("Creando usuario '{}' con el rol '{}'", user.getEmail(), role.getName());
-
-            auth0UserService.setUserRole(user.getAuth0Id(), role.getAuth0Id());
-            userRepository.save(user);
-
-            log.info("Usuario '{}' creado exitosamente", user.getEmail());
-
-        } catch (DataAccessException ex) {
-            log.error("Error guardando usuario '{}' en BD, eliminando usuario en Auth0", user.getEmail(), ex);
-            auth0UserService.deleteUser(user.getAuth0Id());
-            throw new UserRegistrationException("Error guardando usuario en la base de datos", ex);
-
-        } catch (Auth0Exception ex) {
-            log.error("Error asignando rol, eliminando usuario {}", user.getAuth0Id(), ex);
-            auth0UserService.deleteUser(user.getAuth0Id());
-            throw new UserRegistrationException("Error asignando rol en Auth0", ex);
-        }
-        return userMapper.toResponse(user);
+    private final TransactionTemplate transactionTemplate;
+    private final CurrentUserCache currentUserCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserRevocationService userRevocationService;
+    private final UserProvisioningService userProvisioningService;
+
+    public CompletableFuture<UserResponse> registerFromDto(SignupRequest dto) {
+        Role role = transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(dto.getEmail())) {
+                throw new ExistingResourceException("El email proporcionado ya está registrado en la base de datos");
+            }
+            return resolveSignupRole(dto.getRoleName());
+        });
+
+        // crear el usuario y asignarle el rol son llamadas dependientes: se encadenan sin bloquear el hilo del request
+        return auth0UserAsyncService.registerUserFromDTO(dto)
+                .thenCompose(signupResponse -> {
+                    User user = userMapper.toEntity(signupResponse);
+                    user.setRole(role);
+
+                    log.info("Creando usuario '{}' con el rol '{}'", user.getEmail(), role.getName());
+                    return auth0UserAsyncService.setUserRole(user.getAuth0Id(), role.getAuth0Id())
+                            .thenApply(ignored -> transactionTemplate.execute(status -> userRepository.save(user)))
+                            .thenApply(saved -> {
+                                log.info("Usuario '{}' creado exitosamente", saved.getEmail());
+                                return userMapper.toResponse(saved);
+                            })
+                            .exceptionallyCompose(error -> compensateRegistration(user, error));
+                });
     }
 
-    @Transactional
     public UserResponse registerFromJwt(String auth0Id, String email, String name) throws Auth0Exception {
-        Role role = roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
-
-        if (userRepository.existsByEmail(email)) {
-            throw new ExistingResourceException("El email proporcionado ya está registrado en la base de datos");
-        }
+        // la llamada a Auth0 queda fuera de la transacción: no retiene una conexión del pool mientras espera la red
+        Role role = transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(email)) {
+                throw new ExistingResourceException("El email proporcionado ya está registrado en la base de datos");
+            }
+            return roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+        });
 
         User user = User.builder()
                 .name(name != null ? name : email)
@@ -98,62 +102,46 @@ public class UserService {
             log.info("Creando usuario '{}' con el rol '{}'", user.getEmail(), role.getName());
 
             auth0UserService.setUserRole(user.getAuth0Id(), role.getAuth0Id());
-            userRepository.save(user);
+            transactionTemplate.executeWithoutResult(status -> userRepository.save(user));
 
             log.info("Usuario '{}' creado exitosamente", user.getEmail());
 
         } catch (DataAccessException ex){
             log.error("Error guardando usuario '{}' en BD, eliminando usuario en Auth0", user.getEmail(), ex);
-            auth0UserService.deleteUser(user.getAuth0Id());
+            // la compensación se intenta aunque el plazo del request se haya agotado
+            try (RequestDeadline.Scope ignored = RequestDeadline.suspend()) {
+                auth0UserService.deleteUser(user.getAuth0Id());
+            }
             throw new UserRegistrationException("Error guardando usuario en la base de datos", ex);
 
         } catch (Auth0Exception ex) {
             log.error("Error asignando rol, eliminando usuario {}", user.getAuth0Id(), ex);
-            auth0UserService.deleteUser(user.getAuth0Id());
+            try (RequestDeadline.Scope ignored = RequestDeadline.suspend()) {
+                auth0UserService.deleteUser(user.getAuth0Id());
+            }
             throw new UserRegistrationException("Error asignando rol en Auth0", ex);
         }
         return userMapper.toResponse(user);
     }
 
-    // TODO: Mejorar este método
-    @Transactional
+    /**
+     * Devuelve el usuario autenticado, dándolo de alta en su primer login. Ver {@link UserProvisioningService}.
+     */
     public UserResponse getCurrent(String auth0Id, String email, String name) {
-        return userRepository.findByAuth0Id(auth0Id)
-                .map(userMapper::toResponse)
-                .orElseGet(() -> {
-                    if (userRepository.existsByEmail(email)) {
-                        throw new ExistingResourceException("El email '" + email + "' ya está registrado con otro método de autenticación");
-                    }
-
-                    RoleResponse userRole = auth0UserService.getUserRole(auth0Id);
-                    String roleName = (userRole != null) ? userRole.getName() : USER_ROLE_NAME;
-
-                    Role role = roleService.getRoleByNameOrThrow(roleName, true);
-
-                    User user = User.builder()
-                            .auth0Id(auth0Id)
-                            .name(name)
-                            .email(email)
-                            .role(role)
-                            .build();
-
-                    try {
-                        log.info("Asignando rol en Auth0 al usuario '{}'", email);
-                        auth0UserService.setUserRole(auth0Id, role.getAuth0Id());
-
-                        log.info("Guardando usuario '{}' en la base de datos", email);
-                        User saved = userRepository.save(user);
-                        return userMapper.toResponse(saved);
+        UserResponse cached = currentUserCache.get(auth0Id);
+        if (cached != null) {
+            return cached;
+        }
 
-                    } catch (Auth0Exception e) {
-                        log.error("Error asignando rol en Auth0 al usuario '{}'", auth0Id, e);
-                        throw new UserRegistrationException("Error asignando rol en Auth0", e);
+        long generation = currentUserCache.generation();
+        User user = userProvisioningService.findOrProvision(auth0Id, email, name);
 
-                    } catch (DataAccessException e) {
-                        log.error("Error guardando el usuario '{}' en la base de datos", auth0Id, e);
-                        throw new UserRegistrationException("Error guardando usuario en la base de datos", e);
-                    }
-                });
+        UserResponse response = userMapper.toResponse(user);
+        if (user.getProvisioningStatus() == User.ProvisioningStatus.READY) {
+            // una fila a medio provisionar nunca queda en la caché
+            currentUserCache.put(auth0Id, response, user.getVersion(), generation);
+        }
+        return response;
     }
 
     @Transactional(readOnly = true)
@@ -164,20 +152,48 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserResponse> findAll(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(userMapper::toResponse);
+        return userRepository.findAllSummaries(pageable)
+                .map(UserSummary::toResponse);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public Page<UserResponse> findAllByRole(Pageable pageable, String roleName) {
-        Role role = roleService.getRoleByNameOrThrow(roleName, true);
+        Role role = roleService.getRoleReferenceByNameOrThrow(roleName, true);
+
+        return userRepository.findSummariesByRole(role, pageable)
+                .map(UserSummary::toResponse);
+    }
 
-        return userRepository.findByRole(pageable, role)
-                .map(userMapper::toResponse);
+    /**
+     * Lista los usuarios de un rol paginando por cursor sobre el id (índice {@code (role_id, id)}).
+     * A diferencia de {@link #findAllByRole(Pageable, String)} no usa OFFSET ni cuenta el total, así que
+     * cualquier página cuesta lo mismo que la primera.
+     *
+     * @param cursor Cursor devuelto por la página anterior, o {@code null} para la primera.
+     * @param size Cantidad de usuarios por página.
+     * @param roleName Nombre del rol.
+     * @return Página con los usuarios y el cursor de la siguiente, si la hay.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> findAllByRole(String cursor, int size, String roleName) {
+        Role role = roleService.getRoleReferenceByNameOrThrow(roleName, true);
+        long afterId = CursorCodec.decode(cursor);
+        int pageSize = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+
+        // se pide uno de más para saber si hay una página siguiente sin contar
+        List<UserSummary> users = userRepository.findSummariesByRoleAfter(role, afterId, Limit.of(pageSize + 1));
+        boolean hasNext = users.size() > pageSize;
+        List<UserSummary> page = hasNext ? users.subList(0, pageSize) : users;
+
+        return CursorPage.<UserResponse>builder()
+                .content(page.stream().map(UserSummary::toResponse).toList())
+                .size(page.size())
+                .nextCursor(hasNext ? CursorCodec.encode(page.getLast().id()) : null)
+                .build();
     }
 
     @Transactional
-    public UserResponse activate(Long id) throws Auth0Exception {
+    public UserResponse activate(Long id) {
         User user = getUserByIdOrThrow(id, false);
 
         if (user.getActive()) {
@@ -185,14 +201,16 @@ public class UserService {
             return userMapper.toResponse(user);
         }
 
-        auth0UserService.activateUser(user.getAuth0Id());
         user.setActive(true);
+        auth0OutboxService.enqueue(Operation.SYNC_USER_STATUS, user.getAuth0Id());
+        userRevocationService.record(user.getAuth0Id(), false);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getAuth0Id()));
 
         return userMapper.toResponse(user);
     }
 
     @Transactional
-    public UserResponse deactivate(Long id) throws Auth0Exception {
+    public UserResponse deactivate(Long id) {
         User user = getUserByIdOrThrow(id, false);
 
         if (!user.getActive()) {
@@ -200,26 +218,41 @@ public class UserService {
             return userMapper.toResponse(user);
         }
 
-        auth0UserService.deactivateUser(user.getAuth0Id());
         user.setActive(false);
+        auth0OutboxService.enqueue(Operation.SYNC_USER_STATUS, user.getAuth0Id());
+        userRevocationService.record(user.getAuth0Id(), true);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getAuth0Id()));
 
         return userMapper.toResponse(user);
     }
 
-    @Transactional
-    public UserResponse update(String auth0Id, UserUpdateRequest dto) throws Auth0Exception {
-        User user = getUserByAuth0IdOrThrow(auth0Id, true);
+    public CompletableFuture<UserResponse> update(String auth0Id, UserUpdateRequest dto) {
+        User user = transactionTemplate.execute(status -> getUserByAuth0IdOrThrow(auth0Id, true));
 
-        if ((dto.getName() != null && !dto.getName().isBlank()) && (!user.getName().equals(dto.getName()))) {
-            auth0UserService.setUserName(user.getAuth0Id(), dto.getName());
-            user.setName(dto.getName());
-        }
+        boolean nameChanged = (dto.getName() != null && !dto.getName().isBlank()) && (!user.getName().equals(dto.getName()));
+        boolean passwordChanged = dto.getPassword() != null && !dto.getPassword().isBlank();
 
-        if (dto.getPassword() != null && !dto.getPassword().isBlank()) {
-            auth0UserService.setUserPassword(user.getAuth0Id(), dto.getPassword());
+        // nombre y contraseña son independientes en Auth0: se envían en paralelo y sin transacción abierta
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        if (nameChanged) {
+            calls.add(auth0UserAsyncService.setUserName(user.getAuth0Id(), dto.getName()));
+        }
+        if (passwordChanged) {
+            calls.add(auth0UserAsyncService.setUserPassword(user.getAuth0Id(), dto.getPassword()));
         }
 
-        return userMapper.toResponse(user);
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    if (!nameChanged) {
+                        return userMapper.toResponse(user);
+                    }
+                    return transactionTemplate.execute(status -> {
+                        User managed = getUserByIdOrThrow(user.getId(), true);
+                        managed.setName(dto.getName());
+                        eventPublisher.publishEvent(new UserChangedEvent(managed.getAuth0Id()));
+                        return userMapper.toResponse(managed);
+                    });
+                });
     }
 
     // Métodos auxiliares
@@ -244,4 +277,39 @@ public class UserService {
 
         return usuario;
     }
+
+    private Role resolveSignupRole(String roleName) {
+        if (roleName == null || roleName.isEmpty()) {
+            return roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+        }
+        try {
+            return roleService.getRoleByNameOrThrow(roleName, true);
+        } catch (ResourceNotFoundException ex) {
+            log.warn("Rol '{}' no encontrado. Asignando rol por defecto '{}'", roleName, USER_ROLE_NAME);
+            return roleService.getRoleByNameOrThrow(USER_ROLE_NAME, true);
+        }
+    }
+
+    private CompletableFuture<UserResponse> compensateRegistration(User user, Throwable error) {
+        Throwable cause = (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+
+        String message;
+        if (cause instanceof DataAccessException) {
+            log.error("Error guardando usuario '{}' en BD, eliminando usuario en Auth0", user.getEmail(), cause);
+            message = "Error guardando usuario en la base de datos";
+        } else if (cause instanceof Auth0Exception) {
+            log.error("Error asignando rol, eliminando usuario {}", user.getAuth0Id(), cause);
+            message = "Error asignando rol en Auth0";
+        } else {
+            return CompletableFuture.failedFuture(cause);
+        }
+
+        return auth0UserAsyncService.deleteUser(user.getAuth0Id())
+                .handle((ignored, deleteError) -> {
+                    if (deleteError != null) {
+                        log.error("No se pudo eliminar el usuario {} de Auth0 tras el error de registro", user.getAuth0Id(), deleteError);
+                    }
+                    throw new UserRegistrationException(message, cause);
+                });
+    }
 }
@@ -0,0 +1,70 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import com.auth0.exception.APIException;
+import com.auth0.exception.Auth0Exception;
+import com.auth0.exception.RateLimitException;
+import com.example.auth0springbootstarter.exception.Auth0UnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las llamadas a la Management API, etiquetadas por operación y resultado.
+ * <ul>
+ *     <li>{@code auth0.management.requests}: duración de cada operación, reintentos incluidos.</li>
+ *     <li>{@code auth0.management.retries}: reintentos hechos por operación.</li>
+ * </ul>
+ * La operación es {@code <Servicio>.<método>}, así la cardinalidad queda acotada por el código.
+ */
+@Component
+@RequiredArgsConstructor
+public class Auth0Metrics {
+
+    static final String REQUESTS = "auth0.management.requests";
+    static final String RETRIES = "auth0.management.retries";
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String operation, long elapsedNanos, Throwable error) {
+        Timer.builder(REQUESTS)
+                .description("Duración de las operaciones de la Management API de Auth0")
+                .tag("operation", operation)
+                .tag("outcome", outcome(error))
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void retried(String operation, int retries) {
+        if (retries <= 0) {
+            return;
+        }
+        Counter.builder(RETRIES)
+                .description("Reintentos de operaciones de la Management API de Auth0")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment(retries);
+    }
+
+    static String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
+        }
+        if (error instanceof Auth0UnavailableException) {
+            return "rejected";
+        }
+        if (error instanceof RateLimitException) {
+            return "rate_limited";
+        }
+        if (error instanceof APIException apiException) {
+            return apiException.getStatusCode() >= 500 ? "server_error" : "client_error";
+        }
+        if (error instanceof Auth0Exception) {
+            return "io_error";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide los métodos públicos de los servicios síncronos de Auth0.
+ * <p>
+ * Envuelve al interceptor de {@code @Retryable} (mayor precedencia), así que cada muestra es la duración total
+ * de la operación con sus reintentos; los reintentos en sí los cuenta {@link Auth0RetryMetricsListener}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class Auth0MetricsAspect {
+
+    private final Auth0Metrics auth0Metrics;
+
+    @Around("execution(public * com.example.auth0springbootstarter.service.auth0.Auth0UserService.*(..))"
+            + " || execution(public * com.example.auth0springbootstarter.service.auth0.Auth0RoleService.*(..))"
+            + " || execution(public * com.example.auth0springbootstarter.service.auth0.Auth0UserImportService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String operation = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            auth0Metrics.record(operation, System.nanoTime() - start, error);
+        }
+    }
+}
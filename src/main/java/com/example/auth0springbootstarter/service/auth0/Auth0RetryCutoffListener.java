@@ -0,0 +1,41 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import com.example.auth0springbootstarter.exception.Auth0UnavailableException;
+import com.example.auth0springbootstarter.exception.RequestDeadlineExceededException;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Corta los reintentos de los métodos {@code @Retryable} cuando el plazo del request ya no alcanza para otro
+ * intento, en lugar de dormir el backoff y volver a llamar a Auth0 sin tiempo para esperar la respuesta. Tampoco
+ * se reintenta una llamada rechazada por el circuit breaker o el bulkhead: el hilo quedaría ocupado durante el
+ * backoff solo para volver a ser rechazado.
+ */
+@Slf4j
+@Component
+public class Auth0RetryCutoffListener implements RetryListener {
+
+    @Value("${auth0.deadline.min-attempt:PT1S}")
+    private Duration minAttempt;
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof Auth0UnavailableException) {
+            context.setExhaustedOnly();
+            return;
+        }
+        RequestDeadline deadline = RequestDeadline.current();
+        if (throwable instanceof RequestDeadlineExceededException
+                || (deadline != null && deadline.remainingMillis() < minAttempt.toMillis())) {
+            log.warn("Plazo del request agotado, no se reintenta la llamada a Auth0");
+            context.setExhaustedOnly();
+        }
+    }
+}
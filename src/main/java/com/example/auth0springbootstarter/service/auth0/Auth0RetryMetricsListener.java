@@ -0,0 +1,41 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuenta los reintentos de los métodos {@code @Retryable}. Spring Retry registra como listener global todo bean
+ * {@link RetryListener}, así que aplica a todos los servicios de Auth0 sin tocar sus anotaciones.
+ */
+@Component
+@RequiredArgsConstructor
+public class Auth0RetryMetricsListener implements RetryListener {
+
+    private final Auth0Metrics auth0Metrics;
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        // getRetryCount() cuenta los intentos fallidos; si la operación terminó en error, el último no se reintentó
+        int retries = context.getRetryCount() - (throwable != null ? 1 : 0);
+        auth0Metrics.retried(operation(context), retries);
+    }
+
+    /**
+     * El nombre del contexto es la firma del método ({@code "public void pkg.Clase.metodo(args) throws ..."}).
+     */
+    private static String operation(RetryContext context) {
+        Object name = context.getAttribute(RetryContext.NAME);
+        if (name == null) {
+            return "unknown";
+        }
+        String signature = name.toString();
+        int paren = signature.indexOf('(');
+        String qualified = paren >= 0 ? signature.substring(signature.lastIndexOf(' ', paren) + 1, paren) : signature;
+        int methodDot = qualified.lastIndexOf('.');
+        int classDot = methodDot > 0 ? qualified.lastIndexOf('.', methodDot - 1) : -1;
+        return qualified.substring(classDot + 1);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import com.auth0.client.mgmt.ManagementAPI;
+import com.auth0.client.mgmt.filter.RolesFilter;
+import com.auth0.exception.Auth0Exception;
+import com.auth0.json.mgmt.roles.Role;
+import com.auth0.json.mgmt.roles.RolesPage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Catálogo en memoria de los roles de Auth0, indexado por nombre (sin distinguir mayúsculas) y por id.
+ * <p>
+ * Se carga recorriendo todas las páginas de la Management API y se recarga periódicamente en segundo plano.
+ * Entre recargas, las altas y modificaciones hechas por {@link Auth0RoleService} se escriben en el catálogo,
+ * de modo que las búsquedas no requieren ninguna llamada a Auth0.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Auth0RoleCatalog {
+
+    private static final int PAGE_SIZE = 50;
+
+    private final ManagementAPI managementAPI;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Busca un rol por nombre, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param name Nombre del rol.
+     * @return El rol, si existe en el catálogo.
+     * @throws Auth0Exception Si el catálogo aún no estaba cargado y falla su carga inicial.
+     */
+    public Optional<Role> findByName(String name) throws Auth0Exception {
+        return Optional.ofNullable(snapshot().byName().get(normalize(name)));
+    }
+
+    /**
+     * Busca un rol por su ID en Auth0.
+     *
+     * @param auth0Id ID del rol en Auth0.
+     * @return El rol, si existe en el catálogo.
+     * @throws Auth0Exception Si el catálogo aún no estaba cargado y falla su carga inicial.
+     */
+    public Optional<Role> findById(String auth0Id) throws Auth0Exception {
+        return Optional.ofNullable(snapshot().byId().get(auth0Id));
+    }
+
+    /**
+     * Agrega o reemplaza un rol en el catálogo luego de crearlo o modificarlo en Auth0.
+     *
+     * @param role Rol tal como lo devolvió Auth0.
+     */
+    public void put(Role role) {
+        snapshot.updateAndGet(current -> current == null ? null : current.with(role));
+    }
+
+    /**
+     * Recarga el catálogo completo desde Auth0, recorriendo todas las páginas.
+     *
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    public void refresh() throws Auth0Exception {
+        List<Role> roles = new ArrayList<>();
+        int page = 0;
+
+        while (true) {
+            RolesFilter filter = new RolesFilter()
+                    .withPage(page, PAGE_SIZE)
+                    .withTotals(true);
+            RolesPage rolesPage = managementAPI.roles().list(filter).execute().getBody();
+
+            List<Role> items = rolesPage.getItems();
+            if (items == null || items.isEmpty()) {
+                break;
+            }
+            roles.addAll(items);
+
+            Integer total = rolesPage.getTotal();
+            if (items.size() < PAGE_SIZE || (total != null && roles.size() >= total)) {
+                break;
+            }
+            page++;
+        }
+
+        snapshot.set(Snapshot.of(roles));
+        log.info("Catálogo de roles de Auth0 cargado con {} roles", roles.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth0.roles.catalog.refresh-interval:PT10M}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Auth0Exception e) {
+            log.error("Error recargando el catálogo de roles de Auth0, se conserva la versión anterior", e);
+        }
+    }
+
+    private Snapshot snapshot() throws Auth0Exception {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+
+    private static String normalize(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<String, Role> byName, Map<String, Role> byId) {
+
+        static Snapshot of(Collection<Role> roles) {
+            Map<String, Role> byName = new HashMap<>();
+            Map<String, Role> byId = new HashMap<>();
+            for (Role role : roles) {
+                byName.put(normalize(role.getName()), role);
+                byId.put(role.getId(), role);
+            }
+            return new Snapshot(Map.copyOf(byName), Map.copyOf(byId));
+        }
+
+        Snapshot with(Role role) {
+            Map<String, Role> newByName = new HashMap<>(byName);
+            Map<String, Role> newById = new HashMap<>(byId);
+
+            Role previous = newById.put(role.getId(), role);
+            if (previous != null) {
+                newByName.remove(normalize(previous.getName()));
+            }
+            newByName.put(normalize(role.getName()), role);
+
+            return new Snapshot(Map.copyOf(newByName), Map.copyOf(newById));
+        }
+    }
+}
@@ -2,8 +2,8 @@ package com.example.auth0springbootstarter.service.auth0;
 
 import com.auth0.client.mgmt.ManagementAPI;
 import com.auth0.exception.Auth0Exception;
+import com.auth0.exception.RateLimitException;
 import com.auth0.json.mgmt.roles.Role;
-import com.auth0.json.mgmt.roles.RolesPage;
 import com.auth0.net.Response;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,14 +11,13 @@ import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class Auth0RoleService {
 
     private final ManagementAPI managementAPI;
+    private final Auth0RoleCatalog roleCatalog;
 
     /**
      * Crea un nuevo rol en Auth0 si no existe previamente.
@@ -31,11 +30,17 @@ public class Auth0RoleService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
     public Role createRol(String name, String description) throws Auth0Exception {
         Role existing = getRoleByName(name);
+        if (existing == null) {
+            // pudo haberse creado desde otra instancia o desde el dashboard: se recarga el catálogo antes de crear
+            roleCatalog.refresh();
+            existing = getRoleByName(name);
+        }
         if (existing != null) {
             log.info("El rol '{}' ya existe en Auth0.", name);
             return existing;
@@ -48,6 +53,7 @@ public class Auth0RoleService {
 
         Response<Role> response = managementAPI.roles().create(rolAuth0).execute();
         Role createdRole = response.getBody();
+        roleCatalog.put(createdRole);
 
         log.info("Rol '{}' creado exitosamente en Auth0 con ID '{}'", name, createdRole.getId());
         return createdRole;
@@ -62,6 +68,7 @@ public class Auth0RoleService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -72,33 +79,23 @@ public class Auth0RoleService {
         update.setName(name);
         update.setDescription(description);
 
-        managementAPI.roles().update(auth0Id, update).execute();
+        Response<Role> response = managementAPI.roles().update(auth0Id, update).execute();
+        roleCatalog.put(response.getBody());
 
         log.info("Rol con id en Auth0 '{}' actualizado exitosamente", auth0Id);
     }
 
     /**
-     * Busca y retorna un rol de Auth0 por su nombre.
+     * Busca y retorna un rol de Auth0 por su nombre, usando el catálogo local de roles.
      *
      * @param name Nombre del rol a buscar.
      * @return El rol encontrado, o null si no existe.
-     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     * @throws Auth0Exception Si el catálogo aún no estaba cargado y falla su carga inicial.
      */
-    @Retryable(
-            value = Auth0Exception.class,
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public Role getRoleByName(String name) throws Auth0Exception {
         log.info("Buscando rol con nombre '{}' en Auth0", name);
 
-        Response<RolesPage> response = managementAPI.roles().list(null).execute();
-        List<Role> roles = response.getBody().getItems();
-
-        Role foundRole = roles.stream()
-                .filter(r -> r.getName().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null);
+        Role foundRole = roleCatalog.findByName(name).orElse(null);
 
         if (foundRole != null) {
             log.info("Rol '{}' encontrado en Auth0 con ID '{}'", name, foundRole.getId());
@@ -114,13 +111,8 @@ public class Auth0RoleService {
      *
      * @param name Nombre del rol a verificar.
      * @return true si el rol existe, false en caso contrario.
-     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     * @throws Auth0Exception Si el catálogo aún no estaba cargado y falla su carga inicial.
      */
-    @Retryable(
-            value = Auth0Exception.class,
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public boolean existsRoleByName(String name) throws Auth0Exception {
         log.info("Verificando existencia del rol '{}' en Auth0", name);
         return getRoleByName(name) != null;
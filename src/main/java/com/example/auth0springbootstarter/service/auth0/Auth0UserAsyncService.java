@@ -0,0 +1,237 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import com.auth0.client.mgmt.ManagementAPI;
+import com.auth0.exception.Auth0Exception;
+import com.auth0.exception.RateLimitException;
+import com.auth0.json.mgmt.users.User;
+import com.auth0.net.Response;
+import com.example.auth0springbootstarter.exception.Auth0UnavailableException;
+import com.example.auth0springbootstarter.exception.RequestDeadlineExceededException;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
+import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupResponse;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Variante no bloqueante de {@link Auth0UserService}.
+ * <p>
+ * Las llamadas usan {@code executeAsync()} del SDK, por lo que ningún hilo queda esperando la respuesta de Auth0.
+ * Los resultados se completan en {@code auth0Executor} (un pool acotado, o hilos virtuales con
+ * {@code spring.threads.virtual.enabled}), donde también continúa cualquier etapa que la capa de servicio
+ * encadene. Los reintentos replican la política de {@code @Retryable} del servicio síncrono (3 intentos, backoff de
+ * 1s x2, sin reintentar los 429), programados sin dormir ningún hilo. Cada operación y sus reintentos se registran
+ * en {@link Auth0Metrics}.
+ * <p>
+ * Cada operación toma el {@link RequestDeadline} vigente al invocarla: cada intento espera como máximo lo que
+ * queda del plazo, no se reintenta si el plazo no alcanza para el backoff, y la continuación corre con el mismo
+ * plazo, así las llamadas que la capa de servicio encadena comparten el presupuesto del request. La creación de
+ * usuarios es la excepción: no es idempotente, así que se envía una sola vez y su respuesta se espera sin plazo.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class Auth0UserAsyncService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    private final ManagementAPI managementAPI;
+    private final AsyncTaskExecutor auth0Executor;
+    private final Auth0Metrics auth0Metrics;
+
+    /**
+     * Registra un nuevo usuario en Auth0 a partir de un DTO de registro.
+     *
+     * Se envía una sola vez y no se acota al plazo del request: si se reintentara o se dejara de esperar, Auth0
+     * podría haber creado el usuario igual y quedaría huérfano, sin fila local ni compensación. La espera queda acotada por los timeouts del cliente HTTP y la
+     * continuación sigue con el plazo del request, así un fallo posterior compensa eliminando el usuario.
+     *
+     * @param dto DTO con los datos del usuario a registrar.
+     * @return Future con los datos del usuario creado en Auth0.
+     */
+    public CompletableFuture<SignupResponse> registerUserFromDTO(SignupRequest dto) {
+        User user = new User();
+        user.setEmail(dto.getEmail());
+        user.setPassword(dto.getPassword().toCharArray());
+        user.setName((dto.getName() != null && !dto.getName().isBlank())
+                ? dto.getName()
+                : dto.getEmail());
+
+        log.info("Creando usuario '{}' en Auth0 vía Management API", dto.getEmail());
+        return withRetry("registerUserFromDTO", null, RequestDeadline.current(), 1, () -> managementAPI.users().create(user).executeAsync())
+                .thenApply(Response::getBody)
+                .thenApply(createdUser -> SignupResponse.builder()
+                        .auth0Id(createdUser.getId())
+                        .email(createdUser.getEmail())
+                        .name(createdUser.getName())
+                        .build());
+    }
+
+    /**
+     * Activa un usuario en Auth0.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @return Future que se completa cuando Auth0 confirma el cambio.
+     */
+    public CompletableFuture<Void> activateUser(String auth0Id) {
+        log.info("Activando usuario con id '{}' en Auth0", auth0Id);
+        User userUpdate = new User();
+        userUpdate.setBlocked(false);
+        return update("activateUser", auth0Id, userUpdate);
+    }
+
+    /**
+     * Desactiva (bloquea) un usuario en Auth0.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @return Future que se completa cuando Auth0 confirma el cambio.
+     */
+    public CompletableFuture<Void> deactivateUser(String auth0Id) {
+        log.info("Desactivando usuario con id '{}' en Auth0", auth0Id);
+        User userUpdate = new User();
+        userUpdate.setBlocked(true);
+        return update("deactivateUser", auth0Id, userUpdate);
+    }
+
+    /**
+     * Asigna un rol a un usuario en Auth0.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @param auth0RoleId ID del rol en Auth0.
+     * @return Future que se completa cuando Auth0 confirma la asignación.
+     */
+    public CompletableFuture<Void> setUserRole(String auth0Id, String auth0RoleId) {
+        log.info("Asignando rol con id en Auth0 '{}' al usuario con id en Auth0 '{}'", auth0RoleId, auth0Id);
+        return withRetry("setUserRole", () -> managementAPI.users().addRoles(auth0Id, Collections.singletonList(auth0RoleId)).executeAsync())
+                .thenApply(response -> null);
+    }
+
+    /**
+     * Establece el nombre de un usuario en Auth0.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @param name Nuevo nombre para el usuario.
+     * @return Future que se completa cuando Auth0 confirma el cambio.
+     */
+    public CompletableFuture<Void> setUserName(String auth0Id, String name) {
+        log.info("Estableciendo nombre del usuario con id en Auth0 '{}'", auth0Id);
+        User userUpdate = new User();
+        userUpdate.setName(name);
+        return update("setUserName", auth0Id, userUpdate);
+    }
+
+    /**
+     * Establece la contraseña de un usuario en Auth0.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @param password Nueva contraseña para el usuario.
+     * @return Future que se completa cuando Auth0 confirma el cambio.
+     */
+    public CompletableFuture<Void> setUserPassword(String auth0Id, String password) {
+        log.info("Estableciendo contraseña del usuario con id en Auth0 '{}'", auth0Id);
+        User userUpdate = new User();
+        userUpdate.setPassword(password.toCharArray());
+        return update("setUserPassword", auth0Id, userUpdate);
+    }
+
+    /**
+     * Elimina un usuario de Auth0 por su ID. No respeta el plazo del request: es la compensación de un alta
+     * fallida y debe intentarse aunque el plazo se haya agotado.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @return Future que se completa cuando Auth0 confirma la eliminación.
+     */
+    public CompletableFuture<Void> deleteUser(String auth0Id) {
+        log.info("Eliminando usuario con id en Auth0 '{}'", auth0Id);
+        return withRetry("deleteUser", null, () -> managementAPI.users().delete(auth0Id).executeAsync())
+                .thenApply(response -> null);
+    }
+
+    private CompletableFuture<Void> update(String operation, String auth0Id, User userUpdate) {
+        return withRetry(operation, () -> managementAPI.users().update(auth0Id, userUpdate).executeAsync())
+                .thenApply(response -> null);
+    }
+
+    private <T> CompletableFuture<T> withRetry(String operation, Supplier<CompletableFuture<T>> call) {
+        return withRetry(operation, RequestDeadline.current(), call);
+    }
+
+    private <T> CompletableFuture<T> withRetry(String operation, RequestDeadline deadline, Supplier<CompletableFuture<T>> call) {
+        return withRetry(operation, deadline, deadline, MAX_ATTEMPTS, call);
+    }
+
+    /**
+     * @param deadline Plazo que acota cada intento, o {@code null} para esperar sin plazo.
+     * @param continuation Plazo con el que corre la continuación.
+     * @param maxAttempts Intentos como máximo; 1 para las operaciones que no deben repetirse.
+     */
+    private <T> CompletableFuture<T> withRetry(String operation, RequestDeadline deadline, RequestDeadline continuation,
+                                               int maxAttempts, Supplier<CompletableFuture<T>> call) {
+        String qualified = "Auth0UserAsyncService." + operation;
+        long start = System.nanoTime();
+        return attempt(qualified, deadline, call, 1, maxAttempts, INITIAL_BACKOFF_MILLIS)
+                .whenComplete((result, error) -> auth0Metrics.record(qualified, System.nanoTime() - start,
+                        error != null ? unwrap(error) : null))
+                .thenApplyAsync(result -> result, continuation != null ? continuation.propagateTo(auth0Executor) : auth0Executor);
+    }
+
+    private <T> CompletableFuture<T> attempt(String operation, RequestDeadline deadline, Supplier<CompletableFuture<T>> call,
+                                             int attempt, int maxAttempts, long backoffMillis) {
+        return bounded(deadline, call).exceptionallyCompose(error -> {
+            Throwable cause = unwrap(error);
+            // los 429 ya se reintentan en RateLimitedHttpClient según el reset de Auth0, y reintentar con el
+            // circuito abierto solo volvería a rechazarse
+            if (!(cause instanceof Auth0Exception) || cause instanceof RateLimitException
+                    || cause instanceof RequestDeadlineExceededException || cause instanceof Auth0UnavailableException
+                    || attempt >= maxAttempts) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            if (deadline != null && deadline.remainingMillis() <= backoffMillis) {
+                log.warn("Error llamando a Auth0 (intento {}/{}), el plazo del request no alcanza para reintentar", attempt, maxAttempts, cause);
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            log.warn("Error llamando a Auth0 (intento {}/{}), reintentando en {} ms", attempt, maxAttempts, backoffMillis, cause);
+            auth0Metrics.retried(operation, 1);
+            Executor delayed = CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS, auth0Executor);
+            return CompletableFuture.supplyAsync(() -> null, delayed)
+                    .thenCompose(ignored -> attempt(operation, deadline, call, attempt + 1, maxAttempts, backoffMillis * 2));
+        });
+    }
+
+    /**
+     * Ejecuta un intento esperando como máximo lo que queda del plazo.
+     */
+    private static <T> CompletableFuture<T> bounded(RequestDeadline deadline, Supplier<CompletableFuture<T>> call) {
+        if (deadline == null) {
+            return call.get();
+        }
+        if (deadline.expired()) {
+            return CompletableFuture.failedFuture(new RequestDeadlineExceededException("Se agotó el plazo del request antes de llamar a Auth0"));
+        }
+        return call.get()
+                .orTimeout(deadline.remainingMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof TimeoutException) {
+                        cause = new RequestDeadlineExceededException("Se agotó el plazo del request esperando la respuesta de Auth0", cause);
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+}
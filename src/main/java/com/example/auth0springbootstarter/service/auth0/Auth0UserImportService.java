@@ -0,0 +1,203 @@
+package com.example.auth0springbootstarter.service.auth0;
+
+import com.auth0.client.mgmt.ManagementAPI;
+import com.auth0.client.mgmt.filter.UserFilter;
+import com.auth0.client.mgmt.filter.UsersImportOptions;
+import com.auth0.exception.APIException;
+import com.auth0.exception.Auth0Exception;
+import com.auth0.exception.RateLimitException;
+import com.auth0.json.mgmt.jobs.Job;
+import com.auth0.json.mgmt.jobs.JobError;
+import com.auth0.json.mgmt.jobs.JobErrorDetails;
+import com.example.auth0springbootstarter.persistence.entity.UserImportRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Operaciones de la Management API usadas por la importación masiva de usuarios: jobs de importación y
+ * asignación de roles en lote.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class Auth0UserImportService {
+
+    private static final String AUTH0_ID_PREFIX = "auth0|";
+
+    private final ManagementAPI managementAPI;
+    private final ObjectMapper objectMapper;
+
+    @Value("${auth0.import.connection-id:}")
+    private String connectionId;
+
+    /**
+     * Verifica que esté configurada la conexión de base de datos de Auth0 a la que se importan los usuarios.
+     *
+     * @return ID de la conexión.
+     * @throws IllegalStateException Si {@code auth0.import.connection-id} no está configurado.
+     */
+    public String requireConnectionId() {
+        if (connectionId == null || connectionId.isBlank()) {
+            throw new IllegalStateException("La importación de usuarios requiere configurar auth0.import.connection-id");
+        }
+        return connectionId;
+    }
+
+    /**
+     * Envía un chunk de usuarios como job de importación. Cada usuario lleva su {@code user_id} (generado al
+     * registrarlo localmente) y el hash bcrypt de su contraseña, así que reenviar un chunk no crea duplicados:
+     * Auth0 los rechaza como {@code DUPLICATED_USER}.
+     * <p>
+     * No se reintenta automáticamente; si falla, el chunk queda pendiente y se reenvía en la siguiente pasada.
+     *
+     * @param records Registros a importar.
+     * @return ID del job de importación en Auth0.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    public String submitImportJob(List<UserImportRecord> records) throws Auth0Exception {
+        String connection = requireConnectionId();
+        List<Map<String, Object>> users = new ArrayList<>(records.size());
+        for (UserImportRecord record : records) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("user_id", record.getAuth0Id().substring(AUTH0_ID_PREFIX.length()));
+            user.put("email", record.getEmail());
+            user.put("email_verified", false);
+            user.put("name", record.getName());
+            user.put("password_hash", record.getPasswordHash());
+            users.add(user);
+        }
+
+        File file = null;
+        try {
+            file = Files.createTempFile("auth0-import-", ".json").toFile();
+            objectMapper.writeValue(file, users);
+
+            UsersImportOptions options = new UsersImportOptions()
+                    .withUpsert(false)
+                    .withSendCompletionEmail(false);
+
+            log.info("Enviando job de importación con {} usuarios a Auth0", records.size());
+            Job job = managementAPI.jobs().importUsers(connection, file, options).execute().getBody();
+            return job.getId();
+
+        } catch (IOException e) {
+            throw new Auth0Exception("Error generando el archivo de importación de usuarios", e);
+        } finally {
+            if (file != null && !file.delete()) {
+                log.warn("No se pudo eliminar el archivo temporal de importación '{}'", file);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el estado de un job de Auth0 ({@code pending}, {@code processing}, {@code completed} o {@code failed}).
+     *
+     * @param jobId ID del job en Auth0.
+     * @return Estado del job.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    @Retryable(
+            value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2)
+    )
+    public String getJobStatus(String jobId) throws Auth0Exception {
+        return managementAPI.jobs().get(jobId).execute().getBody().getStatus();
+    }
+
+    /**
+     * Obtiene los errores por usuario de un job de importación finalizado.
+     *
+     * @param jobId ID del job en Auth0.
+     * @return Errores indexados por email en minúsculas; cada valor es la lista de errores informados por Auth0.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    @Retryable(
+            value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2)
+    )
+    public Map<String, List<JobError>> getJobErrors(String jobId) throws Auth0Exception {
+        List<JobErrorDetails> details = managementAPI.jobs().getErrorDetails(jobId).execute().getBody();
+        Map<String, List<JobError>> errors = new HashMap<>();
+        if (details == null) {
+            return errors;
+        }
+        for (JobErrorDetails detail : details) {
+            if (detail.getUser() != null && detail.getUser().getEmail() != null && detail.getErrors() != null) {
+                errors.computeIfAbsent(detail.getUser().getEmail().toLowerCase(Locale.ROOT), email -> new ArrayList<>()).addAll(detail.getErrors());
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Indica si existe en Auth0 un usuario con el ID dado.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @return {@code true} si el usuario existe.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    @Retryable(
+            value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2)
+    )
+    public boolean existsUser(String auth0Id) throws Auth0Exception {
+        try {
+            managementAPI.users().get(auth0Id, new UserFilter()).execute();
+            return true;
+        } catch (APIException e) {
+            if (e.getStatusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asigna un rol a varios usuarios en una sola llamada. Es idempotente: reasignar un rol no falla.
+     *
+     * @param auth0RoleId ID del rol en Auth0.
+     * @param auth0Ids IDs de los usuarios en Auth0.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    @Retryable(
+            value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2)
+    )
+    public void assignRole(String auth0RoleId, List<String> auth0Ids) throws Auth0Exception {
+        log.info("Asignando rol con id en Auth0 '{}' a {} usuarios", auth0RoleId, auth0Ids.size());
+        managementAPI.roles().assignUsers(auth0RoleId, auth0Ids).execute();
+    }
+
+    /**
+     * Resume una lista de errores de Auth0 en un texto legible.
+     */
+    public static String describe(List<JobError> errors) {
+        return errors.stream()
+                .map(error -> error.getCode() + ": " + error.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.auth0springbootstarter.service.auth0;
 
 import com.auth0.client.mgmt.ManagementAPI;
 import com.auth0.exception.Auth0Exception;
+import com.auth0.exception.RateLimitException;
 import com.auth0.json.mgmt.roles.Role;
 import com.auth0.json.mgmt.roles.RolesPage;
 import com.auth0.json.mgmt.users.User;
@@ -9,6 +10,7 @@ import com.auth0.net.Response;
 import com.example.auth0springbootstarter.persistence.dto.role.RoleResponse;
 import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupRequest;
 import com.example.auth0springbootstarter.persistence.dto.user.signup.SignupResponse;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.retry.annotation.Backoff;
@@ -26,17 +28,13 @@ public class Auth0UserService {
     private final ManagementAPI managementAPI;
 
     /**
-     * Registra un nuevo usuario en Auth0 a partir de un DTO de registro.
+     * Registra un nuevo usuario en Auth0 a partir de un DTO de registro. No se reintenta: la creación no es
+     * idempotente y un reintento tras un error ambiguo dejaría huérfano al usuario ya creado.
      *
      * @param dto DTO con los datos del usuario a registrar.
      * @return SignupResponse con los datos del usuario creado en Auth0.
      * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
      */
-    @Retryable(
-            value = Auth0Exception.class,
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
     public SignupResponse registerUserFromDTO(SignupRequest dto) throws Auth0Exception {
         User user = new User();
         user.setEmail(dto.getEmail());
@@ -46,7 +44,11 @@ public class Auth0UserService {
                 : dto.getEmail());
 
         log.info("Creando usuario '{}' en Auth0 vía Management API", dto.getEmail());
-        Response<User> response = managementAPI.users().create(user).execute();
+        // crear no es idempotente: no se corta por el plazo del request, o el usuario podría quedar huérfano en Auth0
+        Response<User> response;
+        try (RequestDeadline.Scope ignored = RequestDeadline.suspend()) {
+            response = managementAPI.users().create(user).execute();
+        }
         User createdUser = response.getBody();
 
         return SignupResponse.builder()
@@ -64,6 +66,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -86,6 +89,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -110,6 +114,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -128,6 +133,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -147,6 +153,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
@@ -162,32 +169,47 @@ public class Auth0UserService {
      * Obtiene el rol principal asignado a un usuario en Auth0.
      *
      * @param auth0Id ID del usuario en Auth0.
-     * @return RoleResponse con los datos del rol, o null si no tiene roles.
+     * @return RoleResponse con los datos del rol, o null si no tiene roles o no se pudo consultar.
      */
     public RoleResponse getUserRole(String auth0Id) {
         try {
-            log.info("Obteniendo roles del usuario con id en Auth0 '{}'", auth0Id);
-
-            Response<RolesPage> response = managementAPI.users().listRoles(auth0Id, null).execute();
-            List<Role> roles = response.getBody().getItems();
+            return findUserRole(auth0Id);
+        } catch (Auth0Exception e) {
+            log.error("Error obteniendo roles del usuario con id en Auth0 '{}'", auth0Id, e);
+            return null;
+        }
+    }
 
-            if (roles != null && !roles.isEmpty()) {
-                Role role = roles.get(0);
-                log.info("El Usuario con id en Auth0 '{}' tiene el siguiente rol asignado: '{}'", auth0Id, role.getName());
-                return RoleResponse.builder()
-                        .name(role.getName())
-                        .description(role.getDescription())
-                        .build();
+    /**
+     * Obtiene el rol principal asignado a un usuario en Auth0, distinguiendo un usuario sin roles de un error.
+     *
+     * @param auth0Id ID del usuario en Auth0.
+     * @return RoleResponse con los datos del rol, o null si no tiene roles.
+     * @throws Auth0Exception Si ocurre un error al comunicarse con Auth0.
+     */
+    @Retryable(
+            value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
+            maxAttempts = 3,
+            backoff = @Backoff(delay = 1000, multiplier = 2)
+    )
+    public RoleResponse findUserRole(String auth0Id) throws Auth0Exception {
+        log.info("Obteniendo roles del usuario con id en Auth0 '{}'", auth0Id);
 
-            } else {
-                log.warn("El usuario con id en Auth0 '{}' no tiene roles asignados", auth0Id);
-                return null;
-            }
+        Response<RolesPage> response = managementAPI.users().listRoles(auth0Id, null).execute();
+        List<Role> roles = response.getBody().getItems();
 
-        } catch (Auth0Exception e) {
-            log.error("Error obteniendo roles del usuario con id en Auth0 '{}'", auth0Id, e);
+        if (roles == null || roles.isEmpty()) {
+            log.warn("El usuario con id en Auth0 '{}' no tiene roles asignados", auth0Id);
             return null;
         }
+
+        Role role = roles.get(0);
+        log.info("El Usuario con id en Auth0 '{}' tiene el siguiente rol asignado: '{}'", auth0Id, role.getName());
+        return RoleResponse.builder()
+                .name(role.getName())
+                .description(role.getDescription())
+                .build();
     }
 
     /**
@@ -217,6 +239,7 @@ public class Auth0UserService {
      */
     @Retryable(
             value = Auth0Exception.class,
+            noRetryFor = RateLimitException.class,
             maxAttempts = 3,
             backoff = @Backoff(delay = 1000, multiplier = 2)
     )
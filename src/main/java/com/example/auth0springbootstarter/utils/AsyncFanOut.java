@@ -0,0 +1,67 @@
+package com.example.auth0springbootstarter.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Ejecuta una llamada asíncrona por elemento con un máximo de llamadas en vuelo, sin bloquear hilos: cada
+ * "carril" toma el siguiente elemento pendiente cuando termina el anterior.
+ */
+public final class AsyncFanOut {
+
+    private AsyncFanOut() {
+    }
+
+    /**
+     * @param items Elementos a procesar.
+     * @param concurrency Máximo de llamadas simultáneas.
+     * @param call Llamada a ejecutar por elemento.
+     * @return Future que se completa cuando terminaron todas las llamadas, con los errores por elemento.
+     */
+    public static <T> CompletableFuture<Map<T, Throwable>> run(List<T> items, int concurrency,
+                                                              Function<T, CompletableFuture<?>> call) {
+        AtomicInteger next = new AtomicInteger();
+        Map<T, Throwable> errors = new ConcurrentHashMap<>();
+
+        CompletableFuture<?>[] lanes = IntStream.range(0, Math.min(Math.max(concurrency, 1), items.size()))
+                .mapToObj(lane -> drain(items, next, call, errors))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(lanes).thenApply(ignored -> errors);
+    }
+
+    private static <T> CompletableFuture<Void> drain(List<T> items, AtomicInteger next,
+                                                     Function<T, CompletableFuture<?>> call, Map<T, Throwable> errors) {
+        int index = next.getAndIncrement();
+        if (index >= items.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        T item = items.get(index);
+        CompletableFuture<?> future;
+        try {
+            future = call.apply(item);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        return future
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        errors.put(item, unwrap(error));
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> drain(items, next, call, errors));
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        return (error instanceof CompletionException && error.getCause() != null) ? error.getCause() : error;
+    }
+}
@@ -9,6 +9,8 @@ public final class Constants {
     public static final String ADMIN_ROLE_NAME = "ADMIN";
     public static final String OWNER_ROLE_NAME = "OWNER";
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     public static final Map<String, String> ROLES = new HashMap<>() {{
         put(ADMIN_ROLE_NAME, "Rol con permisos extendidos para administradores.");
         put(USER_ROLE_NAME, "Rol con permisos limitados para usuarios.");
@@ -0,0 +1,86 @@
+package com.example.auth0springbootstarter.utils;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * Plazo de un request, compartido por todas las llamadas a Auth0 que hace mientras se atiende.
+ * <p>
+ * El plazo vigente vive en el hilo que atiende el request. Las etapas asíncronas no lo heredan solas: quien
+ * programa una continuación en otro executor lo envuelve con {@link #propagateTo(Executor)}, y las etapas que
+ * se completan dentro de esa continuación lo ven como propio.
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private RequestDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static RequestDeadline after(Duration budget) {
+        return new RequestDeadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * @return El plazo del hilo actual, o {@code null} si no hay ninguno.
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Fija el plazo del hilo actual hasta que se cierre el {@link Scope} devuelto.
+     */
+    public static Scope open(RequestDeadline deadline) {
+        RequestDeadline previous = CURRENT.get();
+        set(deadline);
+        return () -> set(previous);
+    }
+
+    /**
+     * Quita el plazo del hilo actual hasta que se cierre el {@link Scope} devuelto; para compensaciones que deben
+     * intentarse aunque el plazo se haya agotado.
+     */
+    public static Scope suspend() {
+        return open(null);
+    }
+
+    public long remainingMillis() {
+        return Math.max(0, Duration.ofNanos(deadlineNanos - System.nanoTime()).toMillis());
+    }
+
+    public boolean expired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Ejecutor que corre cada tarea con este plazo como plazo del hilo.
+     */
+    public Executor propagateTo(Executor executor) {
+        return task -> executor.execute(() -> {
+            try (Scope ignored = open(this)) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Fija el plazo del hilo actual, o lo quita si es {@code null}.
+     */
+    public static void set(RequestDeadline deadline) {
+        if (deadline != null) {
+            CURRENT.set(deadline);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
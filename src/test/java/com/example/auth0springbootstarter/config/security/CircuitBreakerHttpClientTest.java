@@ -0,0 +1,233 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import com.auth0.net.client.DefaultHttpClient;
+import com.auth0.net.client.HttpMethod;
+import com.example.auth0springbootstarter.exception.Auth0UnavailableException;
+import com.example.auth0springbootstarter.utils.RequestDeadline;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerHttpClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger usersStatus = new AtomicInteger(200);
+    private final AtomicInteger usersHits = new AtomicInteger();
+    private final CountDownLatch slowRelease = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Auth0HttpClient delegate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // stand-in local de la Management API: /users responde con el código configurado, /jobs tarda hasta liberarse
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/users", exchange -> {
+            usersHits.incrementAndGet();
+            respond(exchange, usersStatus.get());
+        });
+        server.createContext("/api/v2/roles", exchange -> respond(exchange, 200));
+        server.createContext("/api/v2/jobs", exchange -> {
+            try {
+                slowRelease.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        delegate = DefaultHttpClient.newBuilder()
+                .withConnectTimeout(5)
+                .withReadTimeout(5)
+                .withMaxRetries(0)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowRelease.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void opensAfterServerErrorsAndFailsFastWithoutReachingAuth0() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofSeconds(30), 16);
+        usersStatus.set(503);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(client.sendRequest(request("users/auth0|1")).getCode()).isEqualTo(503);
+        }
+
+        assertThatThrownBy(() -> client.sendRequest(request("users/auth0|1")))
+                .isInstanceOfSatisfying(Auth0UnavailableException.class, e ->
+                        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(30)));
+        assertThat(client.sendRequestAsync(request("users/auth0|1")))
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(Exception.class)
+                .withCauseInstanceOf(Auth0UnavailableException.class);
+
+        assertThat(usersHits).hasValue(4);
+        assertThat(state("users")).isEqualTo(1.0);
+        assertThat(transitions("users", "closed", "open")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("auth0.circuit.rejected").tag("group", "users").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheCircuit() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofSeconds(30), 16);
+        usersStatus.set(404);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(client.sendRequest(request("users/missing")).getCode()).isEqualTo(404);
+        }
+
+        assertThat(state("users")).isZero();
+    }
+
+    @Test
+    void closesAgainWhenTrialCallsSucceedAfterTheOpenDuration() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofMillis(200), 16);
+        usersStatus.set(500);
+        for (int i = 0; i < 4; i++) {
+            client.sendRequest(request("users/auth0|1"));
+        }
+        assertThat(state("users")).isEqualTo(1.0);
+
+        usersStatus.set(200);
+        Thread.sleep(300);
+        for (int i = 0; i < 2; i++) {
+            assertThat(client.sendRequest(request("users/auth0|1")).getCode()).isEqualTo(200);
+        }
+
+        assertThat(state("users")).isZero();
+        assertThat(transitions("users", "open", "half_open")).isEqualTo(1.0);
+        assertThat(transitions("users", "half_open", "closed")).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedTrialCallReopensTheCircuit() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofMillis(200), 16);
+        usersStatus.set(500);
+        for (int i = 0; i < 4; i++) {
+            client.sendRequest(request("users/auth0|1"));
+        }
+
+        Thread.sleep(300);
+        assertThat(client.sendRequest(request("users/auth0|1")).getCode()).isEqualTo(500);
+
+        assertThat(state("users")).isEqualTo(1.0);
+        assertThat(transitions("users", "half_open", "open")).isEqualTo(1.0);
+        assertThatThrownBy(() -> client.sendRequest(request("users/auth0|1")))
+                .isInstanceOf(Auth0UnavailableException.class);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimitOfASlowGroup() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofSeconds(30), 2);
+
+        CompletableFuture<Auth0HttpResponse> first = client.sendRequestAsync(request("jobs/1"));
+        CompletableFuture<Auth0HttpResponse> second = client.sendRequestAsync(request("jobs/2"));
+
+        assertThatThrownBy(() -> client.sendRequest(request("jobs/3")))
+                .isInstanceOf(Auth0UnavailableException.class);
+        assertThat(meterRegistry.get("auth0.bulkhead.in-flight").tag("group", "jobs").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("auth0.circuit.rejected").tag("group", "jobs").tag("reason", "bulkhead_full")
+                .counter().count()).isEqualTo(1.0);
+
+        // el bulkhead es por grupo: otro recurso sigue respondiendo mientras jobs está saturado
+        assertThat(client.sendRequest(request("roles")).getCode()).isEqualTo(200);
+
+        slowRelease.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(200);
+        assertThat(second.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(200);
+        assertThat(client.sendRequest(request("jobs/3")).getCode()).isEqualTo(200);
+    }
+
+    @Test
+    void callsBoundByARequestDeadlineWaitForABulkheadSlot() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofSeconds(30), 1, Duration.ofSeconds(2));
+        DeadlineHttpClient deadlineClient = new DeadlineHttpClient(client);
+
+        CompletableFuture<Auth0HttpResponse> first = client.sendRequestAsync(request("jobs/1"));
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(slowRelease::countDown);
+
+        // el envío es asíncrono por dentro, pero espera lugar como una llamada síncrona en lugar de rechazarse
+        try (RequestDeadline.Scope ignored = RequestDeadline.open(RequestDeadline.after(Duration.ofSeconds(5)))) {
+            assertThat(deadlineClient.sendRequest(request("jobs/2")).getCode()).isEqualTo(200);
+        }
+        assertThat(first.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(200);
+        assertThat(meterRegistry.get("auth0.circuit.rejected").tag("group", "jobs").tag("reason", "bulkhead_full")
+                .counter().count()).isZero();
+    }
+
+    @Test
+    void openCircuitOnOneGroupDoesNotAffectTheOthers() throws Exception {
+        CircuitBreakerHttpClient client = client(Duration.ofSeconds(30), 16);
+        usersStatus.set(503);
+        for (int i = 0; i < 4; i++) {
+            client.sendRequest(request("users/auth0|1"));
+        }
+
+        assertThatThrownBy(() -> client.sendRequest(request("users/auth0|1")))
+                .isInstanceOf(Auth0UnavailableException.class);
+        assertThat(client.sendRequest(request("roles")).getCode()).isEqualTo(200);
+        assertThat(state("roles")).isZero();
+    }
+
+    private CircuitBreakerHttpClient client(Duration openDuration, int maxConcurrent) {
+        return client(openDuration, maxConcurrent, Duration.ofMillis(100));
+    }
+
+    private CircuitBreakerHttpClient client(Duration openDuration, int maxConcurrent, Duration maxWait) {
+        CircuitBreakerHttpClient.Settings settings = new CircuitBreakerHttpClient.Settings(
+                10, 4, 50, openDuration, 2, maxConcurrent, maxWait);
+        return new CircuitBreakerHttpClient(delegate, settings, meterRegistry);
+    }
+
+    private Auth0HttpRequest request(String resource) {
+        return Auth0HttpRequest.newBuilder("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/" + resource, HttpMethod.GET)
+                .build();
+    }
+
+    private double state(String group) {
+        return meterRegistry.get("auth0.circuit.state").tag("group", group).gauge().value();
+    }
+
+    private double transitions(String group, String from, String to) {
+        return meterRegistry.get("auth0.circuit.transitions").tag("group", group).tag("from", from).tag("to", to)
+                .counter().count();
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.auth0.net.client.Auth0HttpClient;
+import com.auth0.net.client.Auth0HttpRequest;
+import com.auth0.net.client.Auth0HttpResponse;
+import com.auth0.net.client.DefaultHttpClient;
+import com.auth0.net.client.HttpMethod;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitedHttpClientTest {
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger hits = new AtomicInteger();
+    /** Cantidad de 429 que devuelve el stand-in antes de empezar a responder 200. */
+    private final AtomicInteger throttled = new AtomicInteger();
+    private Auth0HttpClient delegate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // stand-in local de la Management API que informa su límite de tasa como Auth0
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/users", exchange -> {
+            hits.incrementAndGet();
+            long reset = Instant.now().plusSeconds(1).getEpochSecond();
+            exchange.getResponseHeaders().add("X-RateLimit-Limit", "10");
+            if (throttled.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                exchange.getResponseHeaders().add("X-RateLimit-Remaining", "0");
+                exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(reset));
+                respond(exchange, 429);
+            } else {
+                exchange.getResponseHeaders().add("X-RateLimit-Remaining", "9");
+                exchange.getResponseHeaders().add("X-RateLimit-Reset", String.valueOf(reset));
+                respond(exchange, 200);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        delegate = DefaultHttpClient.newBuilder()
+                .withConnectTimeout(5)
+                .withReadTimeout(5)
+                .withMaxRetries(0)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void requestsBeyondTheBucketWaitForRefill() throws Exception {
+        RateLimitedHttpClient client = new RateLimitedHttpClient(delegate, 0, 2, 10);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 2; i++) {
+            assertThat(client.sendRequest(request()).getCode()).isEqualTo(200);
+        }
+        assertThat(elapsedMillis(start)).isLessThan(500);
+
+        // con 9 restantes sobre 10 el bucket se recalibra a la recarga que informa Auth0: el tercero espera cupo
+        long throttledStart = System.nanoTime();
+        client.sendRequest(request());
+        client.sendRequest(request());
+        assertThat(elapsedMillis(throttledStart)).isGreaterThanOrEqualTo(80);
+        assertThat(hits).hasValue(4);
+    }
+
+    @Test
+    void tooManyRequestsIsRetriedAfterTheInformedReset() throws Exception {
+        RateLimitedHttpClient client = new RateLimitedHttpClient(delegate, 3, 10, 10);
+        throttled.set(1);
+
+        long start = System.nanoTime();
+        Auth0HttpResponse response = client.sendRequest(request());
+
+        assertThat(response.getCode()).isEqualTo(200);
+        assertThat(hits).hasValue(2);
+        // tras el 429 el bucket queda sin cupo y se recarga según el reset: el reintento no es inmediato
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(80);
+    }
+
+    @Test
+    void tooManyRequestsIsReturnedOnceRetriesAreExhausted() throws Exception {
+        RateLimitedHttpClient client = new RateLimitedHttpClient(delegate, 2, 10, 50);
+        throttled.set(Integer.MAX_VALUE);
+
+        Auth0HttpResponse response = client.sendRequest(request());
+
+        assertThat(response.getCode()).isEqualTo(429);
+        assertThat(hits).hasValue(3);
+    }
+
+    @Test
+    void saturatedBucketDelaysAsyncRequestsWithoutBlockingTheCaller() throws Exception {
+        RateLimitedHttpClient client = new RateLimitedHttpClient(delegate, 0, 1, 5);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Auth0HttpResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(client.sendRequestAsync(request()));
+        }
+        assertThat(elapsedMillis(start)).isLessThan(100);
+
+        for (CompletableFuture<Auth0HttpResponse> response : responses) {
+            assertThat(response.get(5, TimeUnit.SECONDS).getCode()).isEqualTo(200);
+        }
+        // un token inicial y 5 por segundo: el tercero sale cerca de 400 ms después del primero
+        assertThat(elapsedMillis(start)).isGreaterThanOrEqualTo(300);
+        assertThat(hits).hasValue(3);
+    }
+
+    @Test
+    void groupsRequestsByManagementApiResource() {
+        assertThat(RateLimitedHttpClient.endpointGroup("https://tenant/api/v2/users/auth0%7C1/roles")).isEqualTo("users");
+        assertThat(RateLimitedHttpClient.endpointGroup("https://tenant/api/v2/roles")).isEqualTo("roles");
+        assertThat(RateLimitedHttpClient.endpointGroup("https://tenant/oauth/token")).isEqualTo("default");
+    }
+
+    private Auth0HttpRequest request() {
+        return Auth0HttpRequest.newBuilder("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/users/auth0|1", HttpMethod.GET)
+                .build();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+}
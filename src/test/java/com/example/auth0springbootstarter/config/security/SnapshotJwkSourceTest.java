@@ -0,0 +1,150 @@
+package com.example.auth0springbootstarter.config.security;
+
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotJwkSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private final AtomicReference<JWKSet> served = new AtomicReference<>(new JWKSet());
+    private final AtomicInteger fetches = new AtomicInteger();
+    private RSAKey snapshotKey;
+    private RSAKey rotatedKey;
+    private Path snapshotPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        snapshotKey = new RSAKeyGenerator(2048).keyID("snapshot").generate();
+        rotatedKey = new RSAKeyGenerator(2048).keyID("rotated").generate();
+
+        snapshotPath = tempDir.resolve("jwks.json");
+        Files.writeString(snapshotPath, new JWKSet(snapshotKey).toString(true));
+
+        // stand-in local del endpoint JWKS del issuer
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = served.get().toString(true).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void loadsKeysFromSnapshotWithoutReachingTheIssuer() {
+        URI unreachable = URI.create("http://127.0.0.1:1/.well-known/jwks.json");
+        try (SnapshotJwkSource source = new SnapshotJwkSource(unreachable, snapshotPath, Duration.ofHours(1), Duration.ofHours(1))) {
+            source.start();
+
+            assertThat(source.get(selectorFor("snapshot"), null)).hasSize(1);
+        }
+    }
+
+    @Test
+    void refreshSwapsKeySetAndPersistsSnapshot() throws Exception {
+        served.set(new JWKSet(rotatedKey));
+
+        try (SnapshotJwkSource source = new SnapshotJwkSource(jwksUri(), snapshotPath, Duration.ofHours(1), Duration.ofHours(1))) {
+            source.refresh();
+
+            assertThat(source.get(selectorFor("rotated"), null)).hasSize(1);
+            assertThat(source.get(selectorFor("snapshot"), null)).isEmpty();
+            assertThat(JWKSet.load(snapshotPath.toFile()).getKeyByKeyId("rotated")).isNotNull();
+        }
+    }
+
+    @Test
+    void unknownKidTriggersBackgroundRefreshWithoutBlocking() throws Exception {
+        try (SnapshotJwkSource source = new SnapshotJwkSource(jwksUri(), snapshotPath, Duration.ofHours(1), Duration.ZERO)) {
+            source.start();
+            served.set(new JWKSet(rotatedKey));
+
+            // la primera consulta no espera al refresco
+            source.get(selectorFor("rotated"), null);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (source.get(selectorFor("rotated"), null).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertThat(source.get(selectorFor("rotated"), null)).hasSize(1);
+        }
+    }
+
+    @Test
+    void burstOfUnknownKidsTriggersASingleRefreshPerWindow() throws Exception {
+        served.set(new JWKSet(rotatedKey));
+
+        try (SnapshotJwkSource source = new SnapshotJwkSource(jwksUri(), snapshotPath, Duration.ofHours(1), Duration.ofHours(1))) {
+            int callers = 32;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+            try {
+                List<Future<?>> calls = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    calls.add(executor.submit(() -> {
+                        start.await();
+                        return source.get(selectorFor("unknown"), null);
+                    }));
+                }
+                start.countDown();
+                for (Future<?> call : calls) {
+                    call.get(5, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (source.get(selectorFor("rotated"), null).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            // da tiempo a que corra cualquier refresco encolado de más
+            Thread.sleep(200);
+            assertThat(fetches).hasValue(1);
+        }
+    }
+
+    private URI jwksUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+    }
+
+    private static JWKSelector selectorFor(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+}
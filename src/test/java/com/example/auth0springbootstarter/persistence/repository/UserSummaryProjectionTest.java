@@ -0,0 +1,92 @@
+package com.example.auth0springbootstarter.persistence.repository;
+
+import com.example.auth0springbootstarter.persistence.dto.user.UserResponse;
+import com.example.auth0springbootstarter.persistence.dto.user.UserSummary;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La proyección {@link UserRepository#SUMMARY} de los listados, ejecutada con Hibernate sobre H2 con las entidades
+ * reales.
+ */
+class UserSummaryProjectionTest {
+
+    private SessionFactory sessionFactory;
+    private final LocalDateTime scheduledAt = LocalDateTime.of(2025, 3, 1, 2, 0);
+
+    @BeforeEach
+    void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Role.class)
+                .addAnnotatedClass(User.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:user-summary;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.auto_quote_keyword", "true")
+                .buildSessionFactory();
+
+        LocalDateTime now = LocalDateTime.now();
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            Role role = Role.builder()
+                    .auth0Id("rol_user")
+                    .name("USER")
+                    .description("Usuarios")
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            session.insert(role);
+            session.insert(user(1, role, null, now));
+            session.insert(user(2, role, scheduledAt, now));
+            transaction.commit();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void summaryCarriesDeletionScheduleIntoTheResponse() {
+        List<UserResponse> users;
+        try (Session session = sessionFactory.openSession()) {
+            users = session.createSelectionQuery(
+                            "select new " + UserRepository.SUMMARY + " from User u left join u.role r order by u.id", UserSummary.class)
+                    .getResultList()
+                    .stream()
+                    .map(UserSummary::toResponse)
+                    .toList();
+        }
+
+        assertThat(users).hasSize(2);
+        assertThat(users.get(0).getDeletionScheduledAt()).isNull();
+        assertThat(users.get(1).getDeletionScheduledAt()).isEqualTo(scheduledAt);
+        assertThat(users.get(1).getRole().getName()).isEqualTo("USER");
+    }
+
+    private static User user(int n, Role role, LocalDateTime deletionScheduledAt, LocalDateTime now) {
+        return User.builder()
+                .name("Usuario " + n)
+                .email("user" + n + "@example.com")
+                .auth0Id("auth0|" + n)
+                .role(role)
+                .deletionScheduledAt(deletionScheduledAt)
+                .version(0L)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.auth0springbootstarter.service;
+
+import com.auth0.client.mgmt.ManagementAPI;
+import com.auth0.net.client.DefaultHttpClient;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Operation;
+import com.example.auth0springbootstarter.persistence.entity.Auth0OutboxEvent.Status;
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.persistence.entity.User;
+import com.example.auth0springbootstarter.persistence.repository.Auth0OutboxRepository;
+import com.example.auth0springbootstarter.persistence.repository.RoleRepository;
+import com.example.auth0springbootstarter.persistence.repository.UserRepository;
+import com.example.auth0springbootstarter.service.auth0.Auth0RoleCatalog;
+import com.example.auth0springbootstarter.service.auth0.Auth0RoleService;
+import com.example.auth0springbootstarter.service.auth0.Auth0UserService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Despacho del outbox contra un stand-in local de la Management API: las llamadas pasan por el SDK de Auth0, sus
+ * timeouts y la política de reintentos de {@code @Retryable}.
+ */
+@SpringJUnitConfig(Auth0OutboxServiceTest.Config.class)
+class Auth0OutboxServiceTest {
+
+    private final Auth0OutboxRepository outboxRepository = mock(Auth0OutboxRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Autowired
+    private Auth0UserService auth0UserService;
+
+    @Autowired
+    private Auth0RoleService auth0RoleService;
+
+    @Autowired
+    private ManagementApiStandIn standIn;
+
+    private Auth0OutboxService outboxService;
+    private final List<Auth0OutboxEvent> queue = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        standIn.reset();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        outboxService = new Auth0OutboxService(outboxRepository, userRepository, roleRepository,
+                auth0UserService, auth0RoleService, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxService, "batchSize", 50);
+        ReflectionTestUtils.setField(outboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxService, "lease", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(outboxService, "retryBackoff", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(outboxService, "retention", Duration.ofDays(7));
+        ReflectionTestUtils.setField(outboxService, "failedRetention", Duration.ofDays(30));
+
+        when(outboxRepository.findDueForUpdate(any(), any(), any())).thenAnswer(invocation -> {
+            List<Auth0OutboxEvent> due = new ArrayList<>(queue);
+            queue.clear();
+            return due;
+        });
+        when(outboxRepository.renewLease(any(), any(), any(), any())).thenReturn(1);
+        when(outboxRepository.recordResult(any(), any(), any(), any(), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void syncsCurrentUserStatusAndMarksEventDone() {
+        givenUser("auth0|1", false);
+        Auth0OutboxEvent event = event(Operation.SYNC_USER_STATUS, "auth0|1");
+        queue.add(event);
+
+        assertThat(outboxService.dispatchPending()).isEqualTo(1);
+
+        assertThat(standIn.received()).hasSize(1);
+        assertThat(standIn.received().get(0))
+                .startsWith("PATCH /api/v2/users/auth0|1")
+                .contains("\"blocked\":true");
+        assertThat(event.getStatus()).isEqualTo(Status.DONE);
+        assertThat(event.getProcessedAt()).isNotNull();
+        assertThat(meterRegistry.counter("auth0.outbox.events", "outcome", "success").count()).isEqualTo(1);
+        verify(outboxRepository).recordResult(eq(event.getId()), eq(event.getLeaseToken()), eq(Status.DONE), eq(0),
+                any(), eq(event.getProcessedAt()), isNull(), any());
+    }
+
+    @Test
+    void skipsEventsReclaimedByAnotherNode() {
+        givenUser("auth0|1", false);
+        queue.add(event(Operation.SYNC_USER_STATUS, "auth0|1"));
+        when(outboxRepository.renewLease(any(), any(), any(), any())).thenReturn(0);
+
+        assertThat(outboxService.dispatchPending()).isZero();
+
+        assertThat(standIn.received()).isEmpty();
+        verify(outboxRepository, never()).recordResult(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void syncsRoleDetails() {
+        when(roleRepository.findByAuth0Id("rol_1")).thenReturn(Optional.of(Role.builder().auth0Id("rol_1").name("EDITOR").description("Editores").build()));
+        queue.add(event(Operation.SYNC_ROLE, "rol_1"));
+
+        outboxService.dispatchPending();
+
+        assertThat(standIn.received()).hasSize(1);
+        assertThat(standIn.received().get(0))
+                .startsWith("PATCH /api/v2/roles/rol_1")
+                .contains("\"name\":\"EDITOR\"", "\"description\":\"Editores\"");
+    }
+
+    @Test
+    void transientServerErrorsAreRetriedWithinTheDispatch() {
+        givenUser("auth0|1", true);
+        standIn.respond(503, 503, 200);
+        Auth0OutboxEvent event = event(Operation.SYNC_USER_STATUS, "auth0|1");
+        queue.add(event);
+
+        outboxService.dispatchPending();
+
+        assertThat(standIn.received()).hasSize(3);
+        assertThat(event.getStatus()).isEqualTo(Status.DONE);
+        assertThat(event.getAttempts()).isZero();
+    }
+
+    @Test
+    void failedCallIsRescheduledWithBackoffOnceRetriesAreExhausted() {
+        givenUser("auth0|1", true);
+        standIn.respond(503, 503, 503);
+        Auth0OutboxEvent event = event(Operation.SYNC_USER_STATUS, "auth0|1");
+        queue.add(event);
+
+        outboxService.dispatchPending();
+
+        assertThat(standIn.received()).hasSize(3);
+        assertThat(event.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(event.getLastError()).isNotBlank();
+        assertThat(meterRegistry.counter("auth0.outbox.events", "outcome", "retry").count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowResponsesTimeOutAndAreRetried() {
+        givenUser("auth0|1", true);
+        standIn.delay(Duration.ofMillis(1500));
+        Auth0OutboxEvent event = event(Operation.SYNC_USER_STATUS, "auth0|1");
+        queue.add(event);
+
+        outboxService.dispatchPending();
+
+        assertThat(standIn.received()).hasSize(3);
+        assertThat(event.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void rateLimitedCallIsNotRetriedAndEventIsMarkedFailedAfterMaxAttempts() {
+        givenUser("auth0|1", true);
+        standIn.respond(429);
+        Auth0OutboxEvent event = event(Operation.SYNC_USER_STATUS, "auth0|1");
+        event.setAttempts(2);
+        queue.add(event);
+
+        outboxService.dispatchPending();
+
+        // los 429 no se reintentan en @Retryable: el reintento queda a cargo del outbox
+        assertThat(standIn.received()).hasSize(1);
+        assertThat(event.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(meterRegistry.counter("auth0.outbox.events", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void purgesProcessedEventsPastTheirRetention() {
+        when(outboxRepository.deleteByStatusUpdatedBefore(eq(Status.DONE), any())).thenReturn(4);
+        when(outboxRepository.deleteByStatusUpdatedBefore(eq(Status.FAILED), any())).thenReturn(1);
+
+        assertThat(outboxService.purgeProcessed()).isEqualTo(5);
+
+        verify(outboxRepository).deleteByStatusUpdatedBefore(eq(Status.DONE),
+                argThat(before -> before.isBefore(LocalDateTime.now().minusDays(6))));
+        verify(outboxRepository).deleteByStatusUpdatedBefore(eq(Status.FAILED),
+                argThat(before -> before.isBefore(LocalDateTime.now().minusDays(29))));
+    }
+
+    private void givenUser(String auth0Id, boolean active) {
+        when(userRepository.findByAuth0Id(auth0Id)).thenReturn(Optional.of(User.builder().auth0Id(auth0Id).active(active).build()));
+    }
+
+    private static Auth0OutboxEvent event(Operation operation, String targetAuth0Id) {
+        Auth0OutboxEvent event = Auth0OutboxEvent.builder()
+                .id(1L)
+                .operation(operation)
+                .targetAuth0Id(targetAuth0Id)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        event.setCreatedAt(LocalDateTime.now().minusSeconds(1));
+        return event;
+    }
+
+    @Configuration
+    @EnableRetry
+    static class Config {
+
+        @Bean(destroyMethod = "close")
+        ManagementApiStandIn managementApiStandIn() throws IOException {
+            return new ManagementApiStandIn();
+        }
+
+        @Bean
+        ManagementAPI managementAPI(ManagementApiStandIn standIn) {
+            return ManagementAPI.newBuilder(standIn.baseUrl(), "token")
+                    .withHttpClient(DefaultHttpClient.newBuilder()
+                            .withConnectTimeout(1)
+                            .withReadTimeout(1)
+                            .withMaxRetries(0)
+                            .build())
+                    .build();
+        }
+
+        @Bean
+        Auth0UserService auth0UserService(ManagementAPI managementAPI) {
+            return new Auth0UserService(managementAPI);
+        }
+
+        @Bean
+        Auth0RoleService auth0RoleService(ManagementAPI managementAPI) {
+            return new Auth0RoleService(managementAPI, mock(Auth0RoleCatalog.class));
+        }
+    }
+
+    /**
+     * Stand-in local de los endpoints de usuarios y roles: responde con los códigos encolados (200 si no hay) y,
+     * opcionalmente, con una demora mayor al read timeout del cliente.
+     */
+    static class ManagementApiStandIn implements AutoCloseable {
+
+        private final HttpServer server;
+        private final ConcurrentLinkedDeque<Integer> statuses = new ConcurrentLinkedDeque<>();
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private volatile Duration delay = Duration.ZERO;
+
+        ManagementApiStandIn() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/api/v2/", this::handle);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+        }
+
+        String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort();
+        }
+
+        void reset() {
+            statuses.clear();
+            received.clear();
+            delay = Duration.ZERO;
+        }
+
+        void respond(Integer... codes) {
+            statuses.addAll(List.of(codes));
+        }
+
+        void delay(Duration delay) {
+            this.delay = delay;
+        }
+
+        List<String> received() {
+            return received;
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " " + body);
+            Integer status = statuses.poll();
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            int code = status != null ? status : 200;
+            byte[] response = (code == 200
+                    ? "{\"id\":\"" + exchange.getRequestURI().getPath().substring(exchange.getRequestURI().getPath().lastIndexOf('/') + 1) + "\"}"
+                    : "{\"statusCode\":" + code + ",\"error\":\"Error\",\"message\":\"stand-in\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(code, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.auth0springbootstarter.service;
+
+import com.example.auth0springbootstarter.persistence.entity.Role;
+import com.example.auth0springbootstarter.service.UserExportService.Format;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserExportServiceTest {
+
+    private final RoleService roleService = mock(RoleService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JdbcTemplate jdbcTemplate;
+    private UserExportService exportService;
+
+    @BeforeEach
+    void setUp(@TempDir Path dir) {
+        // base en disco: los datos sembrados no cuentan contra el heap del test
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:file:" + dir.resolve("export") + ";NON_KEYWORDS=USER;LAZY_QUERY_EXECUTION=1;CACHE_SIZE=4096"));
+        jdbcTemplate.execute("create table role (id bigint primary key, name varchar(50))");
+        jdbcTemplate.execute("create table user (id bigint primary key, name varchar(255), email varchar(255), "
+                + "auth0_id varchar(255), active boolean, role_id bigint, created_at timestamp)");
+        jdbcTemplate.execute("insert into role values (1, 'USER'), (2, 'ADMIN')");
+
+        when(roleService.getRoleByNameOrThrow("USER", false)).thenReturn(Role.builder().id(1L).name("USER").build());
+
+        exportService = new UserExportService(jdbcTemplate, roleService, objectMapper);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 1000);
+    }
+
+    @Test
+    void exportsCsvWithFiltersAndEscaping() throws IOException {
+        jdbcTemplate.update("insert into user values (1, 'Pérez, \"Juan\"', 'juan@example.com', 'auth0|1', true, 1, timestamp '2025-01-01 10:00:00')");
+        jdbcTemplate.update("insert into user values (2, 'Ana', 'ana@example.com', 'auth0|2', false, 1, timestamp '2025-01-02 10:00:00')");
+        jdbcTemplate.update("insert into user values (3, 'Admin', 'admin@example.com', 'auth0|3', true, 2, timestamp '2025-01-03 10:00:00')");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exportService.export(Format.CSV, "USER", true, out);
+
+        assertThat(exported).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "id,auth0Id,email,name,active,role,createdAt\n"
+                        + "1,auth0|1,juan@example.com,\"Pérez, \"\"Juan\"\"\",true,USER,2025-01-01T10:00\n");
+    }
+
+    @Test
+    void exportsNdjsonOneObjectPerLine() throws IOException {
+        jdbcTemplate.update("insert into user values (1, 'Juan', 'juan@example.com', 'auth0|1', true, 1, timestamp '2025-01-01 10:00:00')");
+        jdbcTemplate.update("insert into user values (2, 'Admin', 'admin@example.com', 'auth0|2', false, 2, timestamp '2025-01-02 10:00:00')");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(Format.NDJSON, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode admin = objectMapper.readTree(lines[1]);
+        assertThat(admin.get("auth0Id").asText()).isEqualTo("auth0|2");
+        assertThat(admin.get("active").asBoolean()).isFalse();
+        assertThat(admin.get("role").asText()).isEqualTo("ADMIN");
+    }
+
+    /**
+     * Se ejecuta con {@code ./gradlew largeTest}, que fija el heap en 64 MB: si la exportación acumulara filas,
+     * terminaría con OutOfMemoryError.
+     */
+    @Test
+    @Tag("large")
+    void exportsMillionsOfRowsWithConstantMemory() throws IOException {
+        int users = Integer.getInteger("export.rows", 3_000_000);
+        int chunk = 100_000;
+        for (int from = 1; from <= users; from += chunk) {
+            jdbcTemplate.update("insert into user select x, 'Usuario ' || x, 'user' || x || '@example.com', 'auth0|' || x, "
+                            + "true, case when mod(x, 10) = 0 then 2 else 1 end, timestamp '2025-01-01 00:00:00' "
+                            + "from system_range(?, ?)",
+                    from, Math.min(from + chunk - 1, users));
+        }
+
+        LineCountingOutputStream ndjson = new LineCountingOutputStream();
+        assertThat(exportService.export(Format.NDJSON, null, null, ndjson)).isEqualTo(users);
+        assertThat(ndjson.lines).isEqualTo(users);
+
+        LineCountingOutputStream csv = new LineCountingOutputStream();
+        long usersWithUserRole = users - users / 10;
+        assertThat(exportService.export(Format.CSV, "USER", true, csv)).isEqualTo(usersWithUserRole);
+        assertThat(csv.lines).isEqualTo(usersWithUserRole + 1);
+    }
+
+    private static final class LineCountingOutputStream extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}